@@ -0,0 +1,252 @@
+package com.dilip.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import org.HdrHistogram.Histogram;
+
+import java.io.IOException;
+import java.net.http.HttpTimeoutException;
+import java.nio.file.Files;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Load generator for the patient API.
+ * <p>
+ * Seeds patients through the bulk endpoint, then runs {@code concurrency} clients that each
+ * pick operations by the configured weights. Without {@code --rate} every client sends its next
+ * request as soon as the previous one returns (closed loop), which measures peak throughput but
+ * hides queueing: a stalled server also stalls the clients, so the requests they would have sent
+ * are never timed. With {@code --rate} the clients follow a fixed send schedule and each latency
+ * is measured from the request's scheduled start, so time spent waiting behind a slow response is
+ * counted (coordinated-omission correction). Reads and updates target seeded patients only;
+ * deletes only remove patients created during the run, so reads never hit deleted rows.
+ * Latencies go into one HdrHistogram per operation and a JSON report is written at the end.
+ * <p>
+ * Usage: {@code mvn -q compile exec:java -Dexec.args="--seed=10000 --concurrency=64 --duration-seconds=60"}
+ */
+public class LoadTest {
+    private static final int SEED_CHUNK = 1000;
+    private static final int LIST_PAGES = 20;
+
+    private final LoadTestConfig config;
+    private final PatientApiClient client;
+    private final Map<Operation, OperationStats> stats = new EnumMap<>(Operation.class);
+    private final Operation[] weightedOperations;
+    private final Queue<String> createdIds = new ConcurrentLinkedQueue<>();
+    private final AtomicLong sequence = new AtomicLong();
+    private final String runId = Long.toString(System.currentTimeMillis(), 36);
+    private List<String> seededIds = List.of();
+    private double seedSeconds;
+
+    LoadTest(LoadTestConfig config) {
+        this.config = config;
+        this.client = new PatientApiClient(config.baseUrl());
+        for (Operation operation : Operation.values()) {
+            stats.put(operation, new OperationStats());
+        }
+        List<Operation> weighted = new ArrayList<>();
+        config.mix().forEach((operation, weight) -> {
+            for (int i = 0; i < weight; i++) {
+                weighted.add(operation);
+            }
+        });
+        if (weighted.isEmpty()) {
+            throw new IllegalArgumentException("At least one operation needs a positive weight");
+        }
+        this.weightedOperations = weighted.toArray(Operation[]::new);
+    }
+
+    public static void main(String[] args) throws Exception {
+        LoadTest loadTest = new LoadTest(LoadTestConfig.parse(args));
+        loadTest.seed();
+        loadTest.run();
+    }
+
+    void seed() throws IOException, InterruptedException {
+        List<String> ids = new ArrayList<>(config.seed());
+        long start = System.nanoTime();
+        while (ids.size() < config.seed()) {
+            int chunk = Math.min(SEED_CHUNK, config.seed() - ids.size());
+            List<Map<String, String>> patients = new ArrayList<>(chunk);
+            for (int i = 0; i < chunk; i++) {
+                patients.add(newPatient());
+            }
+            List<String> created = client.bulkCreate(patients);
+            if (created.isEmpty()) {
+                throw new IOException("Bulk create of " + chunk + " patients created none after "
+                        + ids.size() + " were seeded; see the per-row errors in the service log");
+            }
+            ids.addAll(created);
+        }
+        seededIds = List.copyOf(ids);
+        seedSeconds = (System.nanoTime() - start) / 1e9;
+        System.out.printf("Seeded %d patients in %.2f s%n", seededIds.size(), seedSeconds);
+    }
+
+    void run() throws InterruptedException, IOException {
+        long warmupEnd = System.nanoTime() + config.warmup().toNanos();
+        long end = warmupEnd + config.duration().toNanos();
+        CountDownLatch done = new CountDownLatch(config.concurrency());
+        long intervalNanos = config.rate() > 0 ? (long) (config.concurrency() * 1e9 / config.rate()) : 0;
+
+        for (int i = 0; i < config.concurrency(); i++) {
+            // Stagger the schedules so the clients do not fire in lockstep
+            long firstStart = System.nanoTime() + intervalNanos * i / config.concurrency();
+            Thread worker = new Thread(() -> {
+                try {
+                    long scheduledStart = firstStart;
+                    while (scheduledStart < end) {
+                        if (intervalNanos > 0) {
+                            LockSupport.parkNanos(scheduledStart - System.nanoTime());
+                        } else {
+                            scheduledStart = System.nanoTime();
+                        }
+                        execute(weightedOperations[ThreadLocalRandom.current().nextInt(weightedOperations.length)],
+                                scheduledStart);
+                        scheduledStart = intervalNanos > 0 ? scheduledStart + intervalNanos : System.nanoTime();
+                    }
+                } finally {
+                    done.countDown();
+                }
+            }, "load-client-" + i);
+            worker.setDaemon(true);
+            worker.start();
+        }
+
+        TimeUnit.NANOSECONDS.sleep(Math.max(0, warmupEnd - System.nanoTime()));
+        stats.values().forEach(OperationStats::reset);
+        System.out.printf("Warm-up finished, measuring for %ds%n", config.duration().toSeconds());
+        done.await();
+
+        writeReport();
+    }
+
+    /**
+     * @param scheduledStart when the request should have been sent; latency is measured from here
+     */
+    private void execute(Operation operation, long scheduledStart) {
+        String deleteId = operation == Operation.DELETE ? createdIds.poll() : null;
+        if (operation == Operation.DELETE && deleteId == null) {
+            return;
+        }
+
+        int status;
+        try {
+            status = switch (operation) {
+                case LIST -> client.list(ThreadLocalRandom.current().nextInt(LIST_PAGES), 10);
+                case GET -> client.get(randomSeededId());
+                case CREATE -> {
+                    PatientApiClient.Created created = client.create(newPatient());
+                    if (created.id() != null) {
+                        createdIds.add(created.id());
+                    }
+                    yield created.status();
+                }
+                case UPDATE -> client.update(randomSeededId(), newPatient());
+                case DELETE -> client.delete(deleteId);
+            };
+        } catch (HttpTimeoutException e) {
+            stats.get(operation).recordError(System.nanoTime() - scheduledStart, "timeout");
+            return;
+        } catch (IOException e) {
+            stats.get(operation).recordError(System.nanoTime() - scheduledStart, "io-error");
+            return;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return;
+        }
+
+        long latencyNanos = System.nanoTime() - scheduledStart;
+        if (status == operation.expectedStatus()) {
+            stats.get(operation).record(latencyNanos);
+        } else {
+            stats.get(operation).recordError(latencyNanos, Integer.toString(status));
+        }
+    }
+
+    private String randomSeededId() {
+        return seededIds.get(ThreadLocalRandom.current().nextInt(seededIds.size()));
+    }
+
+    private Map<String, String> newPatient() {
+        long n = sequence.incrementAndGet();
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        return Map.of(
+                "name", "Load Patient " + n,
+                "email", "load-" + runId + "-" + n + "@example.com",
+                "address", n + " Benchmark Ave, Springfield",
+                "dateOfBirth", LocalDate.of(1940 + random.nextInt(70), 1 + random.nextInt(12), 1 + random.nextInt(28)).toString(),
+                "registeredDate", LocalDate.of(2024, 1, 1).plusDays(random.nextInt(365)).toString()
+        );
+    }
+
+    private void writeReport() throws IOException {
+        ObjectMapper objectMapper = new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT);
+        double seconds = config.duration().toNanos() / 1e9;
+        ObjectNode report = objectMapper.createObjectNode();
+        report.put("timestamp", Instant.now().toString());
+        report.put("baseUrl", config.baseUrl());
+        report.put("seed", seededIds.size());
+        report.put("seedSeconds", seedSeconds);
+        report.put("concurrency", config.concurrency());
+        report.put("targetRatePerSecond", config.rate());
+        report.put("durationSeconds", seconds);
+
+        ObjectNode operations = report.putObject("operations");
+        Histogram total = null;
+        Map<String, Long> totalErrors = new TreeMap<>();
+        for (Map.Entry<Operation, OperationStats> entry : stats.entrySet()) {
+            Histogram histogram = entry.getValue().snapshot();
+            Map<String, Long> errors = entry.getValue().errors();
+            operations.set(entry.getKey().name().toLowerCase(), summarize(objectMapper, histogram, errors, seconds));
+            if (total == null) {
+                total = histogram.copy();
+            } else {
+                total.add(histogram);
+            }
+            errors.forEach((outcome, count) -> totalErrors.merge(outcome, count, Long::sum));
+        }
+        report.set("total", summarize(objectMapper, total, totalErrors, seconds));
+
+        Files.createDirectories(config.report().toAbsolutePath().getParent());
+        objectMapper.writeValue(config.report().toFile(), report);
+        System.out.println(objectMapper.writeValueAsString(report.get("total")));
+        System.out.printf("Report written to %s%n", config.report().toAbsolutePath());
+    }
+
+    /**
+     * @param errors failed requests by unexpected status code, "timeout" or "io-error"
+     */
+    private static ObjectNode summarize(ObjectMapper objectMapper, Histogram histogram, Map<String, Long> errors,
+                                        double seconds) {
+        ObjectNode node = objectMapper.createObjectNode();
+        long count = histogram.getTotalCount();
+        node.put("requests", count);
+        node.put("errors", errors.values().stream().mapToLong(Long::longValue).sum());
+        ObjectNode errorsByOutcome = node.putObject("errorsByOutcome");
+        errors.forEach(errorsByOutcome::put);
+        node.put("throughputPerSecond", count / seconds);
+        ObjectNode latency = node.putObject("latencyMillis");
+        latency.put("mean", histogram.getMean() / 1e6);
+        latency.put("p50", histogram.getValueAtPercentile(50) / 1e6);
+        latency.put("p90", histogram.getValueAtPercentile(90) / 1e6);
+        latency.put("p99", histogram.getValueAtPercentile(99) / 1e6);
+        latency.put("p99.9", histogram.getValueAtPercentile(99.9) / 1e6);
+        latency.put("max", histogram.getMaxValue() / 1e6);
+        return node;
+    }
+}
@@ -0,0 +1,69 @@
+package com.dilip.loadtest;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Load test settings, read from {@code --key=value} arguments
+ *
+ * @param baseUrl     service root, e.g. http://localhost:4000
+ * @param seed        number of patients created before the run
+ * @param concurrency number of concurrent clients
+ * @param rate        target requests per second across all clients, 0 for a closed loop
+ * @param warmup      run time discarded before measuring
+ * @param duration    measured run time
+ * @param mix         relative weight of each operation
+ * @param report      path of the JSON report
+ */
+public record LoadTestConfig(
+        String baseUrl,
+        int seed,
+        int concurrency,
+        double rate,
+        Duration warmup,
+        Duration duration,
+        Map<Operation, Integer> mix,
+        Path report
+) {
+
+    public LoadTestConfig {
+        if (seed < 1 || concurrency < 1) {
+            throw new IllegalArgumentException("seed and concurrency must be positive");
+        }
+        if (rate < 0) {
+            throw new IllegalArgumentException("rate must not be negative");
+        }
+    }
+
+    static LoadTestConfig parse(String[] args) {
+        Map<String, String> options = new HashMap<>();
+        for (String arg : args) {
+            if (!arg.startsWith("--") || !arg.contains("=")) {
+                throw new IllegalArgumentException("Expected --key=value but got: " + arg);
+            }
+            int separator = arg.indexOf('=');
+            options.put(arg.substring(2, separator), arg.substring(separator + 1));
+        }
+
+        Map<Operation, Integer> mix = new EnumMap<>(Operation.class);
+        mix.put(Operation.LIST, Integer.parseInt(options.getOrDefault("list", "20")));
+        mix.put(Operation.GET, Integer.parseInt(options.getOrDefault("get", "60")));
+        mix.put(Operation.CREATE, Integer.parseInt(options.getOrDefault("create", "10")));
+        mix.put(Operation.UPDATE, Integer.parseInt(options.getOrDefault("update", "7")));
+        mix.put(Operation.DELETE, Integer.parseInt(options.getOrDefault("delete", "3")));
+
+        return new LoadTestConfig(
+                options.getOrDefault("base-url", "http://localhost:4000"),
+                Integer.parseInt(options.getOrDefault("seed", "10000")),
+                Integer.parseInt(options.getOrDefault("concurrency", "64")),
+                Double.parseDouble(options.getOrDefault("rate", "0")),
+                Duration.ofSeconds(Long.parseLong(options.getOrDefault("warmup-seconds", "15"))),
+                Duration.ofSeconds(Long.parseLong(options.getOrDefault("duration-seconds", "60"))),
+                mix,
+                Path.of(options.getOrDefault("report", "target/load-test-report.json"))
+        );
+    }
+}
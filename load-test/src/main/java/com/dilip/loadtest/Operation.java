@@ -0,0 +1,25 @@
+package com.dilip.loadtest;
+
+/**
+ * Patient API calls driven by the load test
+ */
+public enum Operation {
+    LIST(200),
+    GET(200),
+    CREATE(201),
+    UPDATE(200),
+    DELETE(204);
+
+    private final int expectedStatus;
+
+    Operation(int expectedStatus) {
+        this.expectedStatus = expectedStatus;
+    }
+
+    /**
+     * Status code of a successful call; any other is counted as an error
+     */
+    public int expectedStatus() {
+        return expectedStatus;
+    }
+}
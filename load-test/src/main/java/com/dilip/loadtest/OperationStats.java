@@ -0,0 +1,57 @@
+package com.dilip.loadtest;
+
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.Recorder;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Latency histogram and errors of one operation, counted by outcome
+ */
+class OperationStats {
+    private static final long HIGHEST_TRACKABLE_NANOS = TimeUnit.MINUTES.toNanos(1);
+
+    private final Recorder recorder = new Recorder(HIGHEST_TRACKABLE_NANOS, 3);
+    private final Map<String, LongAdder> errors = new ConcurrentHashMap<>();
+
+    void record(long latencyNanos) {
+        recorder.recordValue(Math.min(latencyNanos, HIGHEST_TRACKABLE_NANOS));
+    }
+
+    /**
+     * @param outcome unexpected status code, or the kind of failure if there was no response
+     */
+    void recordError(long latencyNanos, String outcome) {
+        record(latencyNanos);
+        errors.computeIfAbsent(outcome, key -> new LongAdder()).increment();
+    }
+
+    /**
+     * Discards everything recorded so far, used at the end of the warm-up
+     */
+    void reset() {
+        recorder.reset();
+        errors.values().forEach(LongAdder::reset);
+    }
+
+    Histogram snapshot() {
+        return recorder.getIntervalHistogram();
+    }
+
+    /**
+     * Errors by outcome, sorted, leaving out outcomes only seen during warm-up
+     */
+    Map<String, Long> errors() {
+        Map<String, Long> counts = new TreeMap<>();
+        errors.forEach((outcome, count) -> {
+            if (count.sum() > 0) {
+                counts.put(outcome, count.sum());
+            }
+        });
+        return counts;
+    }
+}
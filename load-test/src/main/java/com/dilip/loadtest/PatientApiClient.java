@@ -0,0 +1,99 @@
+package com.dilip.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Thin blocking client for the /api/patients endpoints
+ */
+class PatientApiClient {
+    private static final Duration TIMEOUT = Duration.ofSeconds(30);
+
+    private final HttpClient httpClient;
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final String patientsUrl;
+
+    PatientApiClient(String baseUrl) {
+        this.httpClient = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(TIMEOUT)
+                .build();
+        this.patientsUrl = baseUrl + "/api/patients";
+    }
+
+    int list(int page, int size) throws IOException, InterruptedException {
+        return send(HttpRequest.newBuilder(URI.create(patientsUrl + "?page=" + page + "&size=" + size)).GET()).statusCode();
+    }
+
+    int get(String id) throws IOException, InterruptedException {
+        return send(HttpRequest.newBuilder(URI.create(patientsUrl + "/" + id)).GET()).statusCode();
+    }
+
+    /**
+     * @return status code, and the id of the created patient if it was created
+     */
+    Created create(Map<String, String> patient) throws IOException, InterruptedException {
+        HttpResponse<String> response = send(HttpRequest.newBuilder(URI.create(patientsUrl))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(objectMapper.writeValueAsString(patient))));
+        String id = response.statusCode() == 201 ? objectMapper.readTree(response.body()).path("id").asText(null) : null;
+        return new Created(response.statusCode(), id);
+    }
+
+    int update(String id, Map<String, String> patient) throws IOException, InterruptedException {
+        return send(HttpRequest.newBuilder(URI.create(patientsUrl + "/" + id))
+                .header("Content-Type", "application/json")
+                .PUT(HttpRequest.BodyPublishers.ofString(objectMapper.writeValueAsString(patient)))).statusCode();
+    }
+
+    int delete(String id) throws IOException, InterruptedException {
+        return send(HttpRequest.newBuilder(URI.create(patientsUrl + "/" + id)).DELETE()).statusCode();
+    }
+
+    /**
+     * Creates patients through the bulk endpoint
+     *
+     * @return ids of the created patients
+     */
+    List<String> bulkCreate(List<Map<String, String>> patients) throws IOException, InterruptedException {
+        StringBuilder body = new StringBuilder();
+        for (Map<String, String> patient : patients) {
+            body.append(objectMapper.writeValueAsString(patient)).append('\n');
+        }
+        HttpResponse<String> response = send(HttpRequest.newBuilder(URI.create(patientsUrl + "/bulk"))
+                .header("Content-Type", "application/x-ndjson")
+                .POST(HttpRequest.BodyPublishers.ofString(body.toString())));
+        if (response.statusCode() != 200) {
+            throw new IOException("Bulk create failed with status " + response.statusCode() + ": " + response.body());
+        }
+
+        List<String> ids = new ArrayList<>(patients.size());
+        for (JsonNode row : objectMapper.readTree(response.body()).path("rows")) {
+            if ("CREATED".equals(row.path("status").asText())) {
+                ids.add(row.path("id").asText());
+            }
+        }
+        return ids;
+    }
+
+    /**
+     * @param status status code of the create request
+     * @param id     id of the created patient, null unless created
+     */
+    record Created(int status, String id) {
+    }
+
+    private HttpResponse<String> send(HttpRequest.Builder request) throws IOException, InterruptedException {
+        return httpClient.send(request.timeout(TIMEOUT).build(), HttpResponse.BodyHandlers.ofString());
+    }
+}
@@ -0,0 +1,61 @@
+#!/usr/bin/env bash
+# Compares the tuned postgres profile with the same service on stock pool, driver and Hibernate settings.
+# Starts a throwaway PostgreSQL in Docker per run, so both start from an empty, freshly migrated schema,
+# then seeds through the bulk endpoint and drives the ../load-test mix. Reports include the seed time.
+#
+# Usage: scripts/benchmark-postgres.sh [concurrency] [duration-seconds] [seed]
+set -euo pipefail
+
+CONCURRENCY=${1:-200}
+DURATION=${2:-60}
+SEED=${3:-50000}
+PORT=4000
+DB_PORT=55432
+POSTGRES_IMAGE=${POSTGRES_IMAGE:-postgres:16}
+OUT_DIR=target/postgres-benchmark
+cd "$(dirname "$0")/.."
+OUT_DIR_ABS="$(pwd)/${OUT_DIR}"
+
+./mvnw -q -DskipTests package
+(cd ../load-test && mvn -q compile)
+JAR=$(ls target/patient-service-*.jar | grep -v original | head -n 1)
+mkdir -p "${OUT_DIR}"
+
+# Undoes the postgres profile's tuning while keeping its schema handling
+UNTUNED=(
+    --spring.datasource.hikari.maximum-pool-size=10
+    --spring.datasource.hikari.minimum-idle=10
+    --spring.datasource.hikari.auto-commit=true
+    --spring.jpa.properties.hibernate.connection.provider_disables_autocommit=false
+    --spring.datasource.hikari.data-source-properties.reWriteBatchedInserts=false
+    --spring.datasource.hikari.data-source-properties.preparedStatementCacheQueries=256
+    --spring.datasource.hikari.data-source-properties.preparedStatementCacheSizeMiB=5
+    --spring.jpa.properties.hibernate.jdbc.batch_size=1
+    --spring.jpa.properties.hibernate.order_inserts=false
+    --spring.jpa.properties.hibernate.order_updates=false
+    --spring.jpa.properties.hibernate.query.in_clause_parameter_padding=false
+    --spring.jpa.open-in-view=true
+)
+
+run_mode() {
+    local mode=$1
+    shift
+    local container="patient-benchmark-${mode}"
+    docker run -d --rm --name "${container}" -p "${DB_PORT}:5432" \
+        -e POSTGRES_DB=patients -e POSTGRES_USER=patients -e POSTGRES_PASSWORD=patients \
+        "${POSTGRES_IMAGE}" >/dev/null
+    until docker exec "${container}" pg_isready -q -U patients -d patients; do sleep 1; done
+
+    DB_URL="jdbc:postgresql://localhost:${DB_PORT}/patients" \
+        java -jar "${JAR}" --spring.profiles.active=postgres "$@" > "${OUT_DIR}/${mode}-server.log" 2>&1 &
+    local pid=$!
+    trap 'kill ${pid} 2>/dev/null || true; wait ${pid} 2>/dev/null || true; docker stop '"${container}"' >/dev/null' RETURN
+    until curl -sf "http://localhost:${PORT}/actuator/health" >/dev/null; do sleep 1; done
+
+    (cd ../load-test && mvn -q exec:java -Dexec.args="--base-url=http://localhost:${PORT} --seed=${SEED} \
+        --concurrency=${CONCURRENCY} --duration-seconds=${DURATION} --report=${OUT_DIR_ABS}/${mode}.json")
+    echo "== ${mode}: ${OUT_DIR}/${mode}.json"
+}
+
+run_mode untuned "${UNTUNED[@]}"
+run_mode tuned
@@ -0,0 +1,84 @@
+#!/usr/bin/env bash
+# Measures startup time and first-request latency of each startup-optimized build on in-memory H2:
+#   jar       plain executable jar, default settings
+#   lazy      plain jar with the fast-startup profile
+#   cds       extracted jar with a class data sharing archive from a training run, fast-startup profile
+#   aot-cds   as cds, built with Spring AOT processing and run with spring.aot.enabled
+#   native    GraalVM native executable, only when native-image is on the PATH
+# Each mode is started several times; every run records the JVM-reported startup time, the time until
+# /actuator/health is UP and the latency of the first patient list request, in target/startup/results.csv.
+#
+# Usage: scripts/benchmark-startup.sh [runs]
+set -euo pipefail
+
+RUNS=${1:-5}
+PORT=4000
+OUT_DIR=target/startup
+cd "$(dirname "$0")/.."
+mkdir -p "${OUT_DIR}"
+RESULTS="${OUT_DIR}/results.csv"
+echo "mode,run,started_seconds,ready_ms,first_request_ms" > "${RESULTS}"
+
+now_ms() {
+    echo $(( $(date +%s%N) / 1000000 ))
+}
+
+# Starts the given command, waits for readiness and times the first request, then stops it
+measure() {
+    local mode=$1 run=$2
+    shift 2
+    local log="${OUT_DIR}/${mode}-${run}.log"
+    local start
+    start=$(now_ms)
+    "$@" > "${log}" 2>&1 &
+    local pid=$!
+    until curl -sf "http://localhost:${PORT}/actuator/health" >/dev/null; do
+        kill -0 ${pid} 2>/dev/null || { echo "${mode} failed to start, see ${log}" >&2; exit 1; }
+        sleep 0.05
+    done
+    local ready=$(( $(now_ms) - start ))
+    local first
+    first=$(curl -s -o /dev/null -w '%{time_total}' "http://localhost:${PORT}/api/patients?page=0&size=20")
+    kill ${pid}
+    wait ${pid} 2>/dev/null || true
+
+    local started
+    started=$(grep -o 'Started PatientServiceApplication in [0-9.]*' "${log}" | awk '{print $4}')
+    echo "${mode},${run},${started},${ready},$(awk -v t="${first}" 'BEGIN {printf "%.1f", t * 1000}')" >> "${RESULTS}"
+}
+
+run_mode() {
+    local mode=$1
+    shift
+    for run in $(seq 1 "${RUNS}"); do
+        measure "${mode}" "${run}" "$@"
+    done
+}
+
+# Plain jar, and the extracted layout a CDS archive needs
+./mvnw -q -DskipTests package
+JAR=$(ls target/patient-service-*.jar | grep -v original | head -n 1)
+rm -rf "${OUT_DIR}/jar" && java -Djarmode=tools -jar "${JAR}" extract --destination "${OUT_DIR}/jar"
+java -XX:ArchiveClassesAtExit="${OUT_DIR}/jar/app.jsa" -Dspring.context.exit=onRefresh \
+    -jar "${OUT_DIR}/jar/$(basename "${JAR}")" --spring.profiles.active=fast-startup > "${OUT_DIR}/cds-training.log" 2>&1
+
+run_mode jar java -jar "${JAR}"
+run_mode lazy java -jar "${JAR}" --spring.profiles.active=fast-startup
+run_mode cds java -XX:SharedArchiveFile="${OUT_DIR}/jar/app.jsa" \
+    -jar "${OUT_DIR}/jar/$(basename "${JAR}")" --spring.profiles.active=fast-startup
+
+# The same with AOT-generated bean definitions; AOT bakes in the profiles it was built with
+./mvnw -q -Paot -Daot.profiles=fast-startup -DskipTests package
+rm -rf "${OUT_DIR}/aot" && java -Djarmode=tools -jar "${JAR}" extract --destination "${OUT_DIR}/aot"
+java -XX:ArchiveClassesAtExit="${OUT_DIR}/aot/app.jsa" -Dspring.aot.enabled=true -Dspring.context.exit=onRefresh \
+    -jar "${OUT_DIR}/aot/$(basename "${JAR}")" --spring.profiles.active=fast-startup > "${OUT_DIR}/aot-cds-training.log" 2>&1
+run_mode aot-cds java -XX:SharedArchiveFile="${OUT_DIR}/aot/app.jsa" -Dspring.aot.enabled=true \
+    -jar "${OUT_DIR}/aot/$(basename "${JAR}")" --spring.profiles.active=fast-startup
+
+if command -v native-image >/dev/null; then
+    ./mvnw -q -Pnative -Daot.profiles=fast-startup -DskipTests native:compile
+    run_mode native target/patient-service --spring.profiles.active=fast-startup
+fi
+
+column -s, -t < "${RESULTS}"
+echo "== ${RESULTS}"
@@ -0,0 +1,38 @@
+#!/usr/bin/env bash
+# Compares throughput and latency of platform-thread and virtual-thread request handling.
+# Builds the service on Java 21, starts it once per mode and drives the same mix with ../load-test.
+# Both runs use the virtual-threads profile's pool and connector settings and turn admission
+# control off, so the thread model is the only difference; platform threads are then capped
+# by the Tomcat worker pool.
+#
+# Usage: JAVA_HOME=/path/to/jdk-21 scripts/compare-thread-modes.sh [concurrency] [duration-seconds]
+set -euo pipefail
+
+CONCURRENCY=${1:-400}
+DURATION=${2:-60}
+PORT=4000
+JAVA="${JAVA_HOME:+${JAVA_HOME}/bin/}java"
+OUT_DIR=target/thread-modes
+cd "$(dirname "$0")/.."
+OUT_DIR_ABS="$(pwd)/${OUT_DIR}"
+
+./mvnw -q -Pjava21 -DskipTests package
+(cd ../load-test && mvn -q compile)
+JAR=$(ls target/patient-service-*.jar | grep -v original | head -n 1)
+mkdir -p "${OUT_DIR}"
+
+run_mode() {
+    local mode=$1 virtual=$2
+    "${JAVA}" -jar "${JAR}" --spring.profiles.active=virtual-threads --spring.threads.virtual.enabled="${virtual}" \
+        --patient.admission.enabled=false > "${OUT_DIR}/${mode}-server.log" 2>&1 &
+    local pid=$!
+    trap 'kill ${pid} 2>/dev/null || true; wait ${pid} 2>/dev/null || true' RETURN
+    until curl -sf "http://localhost:${PORT}/actuator/health" >/dev/null; do sleep 1; done
+
+    (cd ../load-test && mvn -q exec:java -Dexec.args="--base-url=http://localhost:${PORT} \
+        --concurrency=${CONCURRENCY} --duration-seconds=${DURATION} --report=${OUT_DIR_ABS}/${mode}.json")
+    echo "== ${mode}: ${OUT_DIR}/${mode}.json"
+}
+
+run_mode platform-threads false
+run_mode virtual-threads true
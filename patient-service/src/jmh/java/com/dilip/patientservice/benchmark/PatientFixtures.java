@@ -0,0 +1,54 @@
+package com.dilip.patientservice.benchmark;
+
+import com.dilip.patientservice.dto.PatientRequestDTO;
+import com.dilip.patientservice.dto.PatientResponseDTO;
+import com.dilip.patientservice.mapper.PatientMapper;
+import com.dilip.patientservice.model.Patient;
+import lombok.AccessLevel;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Sample data shared by the benchmarks
+ */
+@NoArgsConstructor(access = AccessLevel.PRIVATE)
+final class PatientFixtures {
+
+    static Patient patient(int i) {
+        return new Patient(
+                UUID.nameUUIDFromBytes(("patient-" + i).getBytes()),
+                "Patient Number " + i,
+                "patient" + i + "@example.com",
+                i + " Main St, Springfield",
+                LocalDate.of(1950 + i % 50, 1 + i % 12, 1 + i % 28),
+                LocalDate.of(2024, 1, 1).plusDays(i % 365),
+                0L,
+                Instant.parse("2024-06-01T12:00:00Z"),
+                null
+        );
+    }
+
+    static PatientRequestDTO request(int i) {
+        PatientResponseDTO dto = PatientMapper.toDTO(patient(i));
+        return PatientRequestDTO.builder()
+                .name(dto.name())
+                .email(dto.email())
+                .address(dto.address())
+                .dateOfBirth(dto.dateOfBirth())
+                .registeredDate(dto.registeredDate())
+                .build();
+    }
+
+    static List<PatientResponseDTO> responses(int count) {
+        List<PatientResponseDTO> responses = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            responses.add(PatientMapper.toDTO(patient(i)));
+        }
+        return responses;
+    }
+}
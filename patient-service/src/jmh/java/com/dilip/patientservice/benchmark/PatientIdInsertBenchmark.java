@@ -0,0 +1,122 @@
+package com.dilip.patientservice.benchmark;
+
+import com.dilip.patientservice.model.TimeOrderedUuids;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Insert throughput into a patient-shaped PostgreSQL table that already holds {@code rows} rows,
+ * keyed by random v4 UUIDs versus time-ordered v7 UUIDs. The table is filled during setup with
+ * the same key strategy, so the primary key index has the shape a long-running service would
+ * give it; its size is printed before and after the run.
+ * <p>
+ * Needs a PostgreSQL reachable at {@code -Dbenchmark.jdbc.url} (user and password
+ * {@code -Dbenchmark.jdbc.user} / {@code -Dbenchmark.jdbc.password}); the fill takes several
+ * minutes per strategy at the default size.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2, time = 10)
+@Measurement(iterations = 5, time = 10)
+@Fork(value = 1, jvmArgsAppend = "-XX:+UseParallelGC")
+public class PatientIdInsertBenchmark {
+    private static final int BATCH_SIZE = 1000;
+    private static final String TABLE = "patient_id_benchmark";
+
+    @Param({"random", "time-ordered"})
+    public String ids;
+
+    @Param({"10000000"})
+    public int rows;
+
+    private Connection connection;
+    private PreparedStatement insert;
+    private long inserted;
+
+    @Setup(Level.Trial)
+    public void setUp() throws SQLException {
+        connection = DriverManager.getConnection(
+                System.getProperty("benchmark.jdbc.url", "jdbc:postgresql://localhost:5432/patients?reWriteBatchedInserts=true"),
+                System.getProperty("benchmark.jdbc.user", "patients"),
+                System.getProperty("benchmark.jdbc.password", "patients"));
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("DROP TABLE IF EXISTS " + TABLE);
+            statement.execute("CREATE TABLE " + TABLE + " (id UUID PRIMARY KEY, name VARCHAR(255) NOT NULL, "
+                    + "email VARCHAR(255) NOT NULL, address VARCHAR(255) NOT NULL, date_of_birth DATE NOT NULL, "
+                    + "registered_date DATE NOT NULL, version BIGINT NOT NULL, last_modified TIMESTAMP(3) WITH TIME ZONE NOT NULL)");
+        }
+        connection.setAutoCommit(false);
+        insert = connection.prepareStatement("INSERT INTO " + TABLE
+                + " (id, name, email, address, date_of_birth, registered_date, version, last_modified)"
+                + " VALUES (?, ?, ?, ?, DATE '1980-01-01', DATE '2024-01-01', 0, now())");
+
+        long start = System.nanoTime();
+        while (inserted < rows) {
+            insertBatch();
+        }
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("VACUUM ANALYZE " + TABLE);
+        }
+        System.out.printf("%n%s: filled %d rows in %.1f s, primary key %s%n", ids, inserted,
+                (System.nanoTime() - start) / 1e9, primaryKeySize());
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws SQLException {
+        System.out.printf("%n%s: %d rows, primary key %s%n", ids, inserted, primaryKeySize());
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("DROP TABLE " + TABLE);
+        }
+        connection.commit();
+        connection.close();
+    }
+
+    /**
+     * One committed batch; the score is rows per second
+     */
+    @Benchmark
+    @OperationsPerInvocation(BATCH_SIZE)
+    public void insertBatch() throws SQLException {
+        boolean timeOrdered = ids.equals("time-ordered");
+        for (int i = 0; i < BATCH_SIZE; i++) {
+            long n = inserted++;
+            insert.setObject(1, timeOrdered ? TimeOrderedUuids.next() : UUID.randomUUID());
+            insert.setString(2, "Patient Number " + n);
+            insert.setString(3, "patient" + n + "@example.com");
+            insert.setString(4, n + " Main St, Springfield");
+            insert.addBatch();
+        }
+        insert.executeBatch();
+        connection.commit();
+    }
+
+    private String primaryKeySize() throws SQLException {
+        try (Statement statement = connection.createStatement();
+             ResultSet size = statement.executeQuery("SELECT pg_size_pretty(pg_relation_size('" + TABLE + "_pkey'))")) {
+            size.next();
+            return size.getString(1);
+        }
+    }
+}
@@ -0,0 +1,55 @@
+package com.dilip.patientservice.benchmark;
+
+import com.dilip.patientservice.dto.PatientRequestDTO;
+import com.dilip.patientservice.dto.PatientResponseDTO;
+import com.dilip.patientservice.mapper.PatientMapper;
+import com.dilip.patientservice.model.Patient;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-request CPU cost of PatientMapper: builder allocation, UUID/LocalDate formatting and parsing
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 2, jvmArgsAppend = "-XX:+UseParallelGC")
+public class PatientMapperBenchmark {
+    private Patient patient;
+    private Patient target;
+    private PatientRequestDTO request;
+
+    @Setup
+    public void setUp() {
+        patient = PatientFixtures.patient(42);
+        target = PatientFixtures.patient(7);
+        request = PatientFixtures.request(42);
+    }
+
+    @Benchmark
+    public PatientResponseDTO toDTO() {
+        return PatientMapper.toDTO(patient);
+    }
+
+    @Benchmark
+    public Patient toModel() {
+        return PatientMapper.toModel(request);
+    }
+
+    @Benchmark
+    public Patient updateModel() {
+        return PatientMapper.updateModel(target, request);
+    }
+}
@@ -0,0 +1,93 @@
+package com.dilip.patientservice.benchmark;
+
+import com.dilip.patientservice.PatientServiceApplication;
+import com.dilip.patientservice.dto.PatientResponseDTO;
+import com.dilip.patientservice.mapper.PatientMapper;
+import com.dilip.patientservice.model.Patient;
+import com.dilip.patientservice.repository.PatientRepository;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * List read path against the in-memory H2 database: hydrating managed Patient entities
+ * versus projecting PatientRow straight from the result set, both mapped to DTOs inside
+ * a read-only transaction. Run with {@code -prof gc} to compare allocation per call.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-XX:+UseParallelGC")
+public class PatientReadModelBenchmark {
+    private static final int PATIENTS = 10_000;
+
+    @Param({"20", "100", "1000"})
+    public int pageSize;
+
+    private ConfigurableApplicationContext context;
+    private PatientRepository patientRepository;
+    private TransactionTemplate readOnly;
+    private Pageable pageable;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = new SpringApplicationBuilder(PatientServiceApplication.class)
+                .web(WebApplicationType.NONE)
+                .properties("logging.level.root=warn", "spring.datasource.url=jdbc:h2:mem:read-model-benchmark")
+                .run();
+        patientRepository = context.getBean(PatientRepository.class);
+        PlatformTransactionManager transactionManager = context.getBean(PlatformTransactionManager.class);
+
+        TransactionTemplate write = new TransactionTemplate(transactionManager);
+        write.executeWithoutResult(status -> {
+            List<Patient> patients = new ArrayList<>(PATIENTS);
+            for (int i = 0; i < PATIENTS; i++) {
+                patients.add(PatientMapper.toModel(PatientFixtures.request(i)));
+            }
+            patientRepository.saveAll(patients);
+        });
+
+        readOnly = new TransactionTemplate(transactionManager);
+        readOnly.setReadOnly(true);
+        pageable = PageRequest.of(3, pageSize, Sort.by("name"));
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public List<PatientResponseDTO> entityPage() {
+        return readOnly.execute(status -> patientRepository.findAll(pageable).map(PatientMapper::toDTO).getContent());
+    }
+
+    @Benchmark
+    public List<PatientResponseDTO> projectionPage() {
+        return readOnly.execute(status -> patientRepository.findAllRows(pageable).map(PatientMapper::toDTO).getContent());
+    }
+}
@@ -0,0 +1,81 @@
+package com.dilip.patientservice.benchmark;
+
+import com.dilip.patientservice.dto.PatientRequestDTO;
+import com.dilip.patientservice.dto.PatientResponseDTO;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Jackson cost of the patient payloads, using the same ObjectMapper defaults as Spring Boot
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 2, jvmArgsAppend = "-XX:+UseParallelGC")
+public class PatientSerializationBenchmark {
+    private ObjectMapper objectMapper;
+    private PatientResponseDTO response;
+    private byte[] responseJson;
+    private byte[] requestJson;
+
+    @Setup
+    public void setUp() throws IOException {
+        objectMapper = Jackson2ObjectMapperBuilder.json().build();
+        response = PatientFixtures.responses(1).get(0);
+        responseJson = objectMapper.writeValueAsBytes(response);
+        requestJson = objectMapper.writeValueAsBytes(PatientFixtures.request(42));
+    }
+
+    @Benchmark
+    public byte[] serializeResponse() throws IOException {
+        return objectMapper.writeValueAsBytes(response);
+    }
+
+    @Benchmark
+    public PatientResponseDTO deserializeResponse() throws IOException {
+        return objectMapper.readValue(responseJson, PatientResponseDTO.class);
+    }
+
+    @Benchmark
+    public PatientRequestDTO deserializeRequest() throws IOException {
+        return objectMapper.readValue(requestJson, PatientRequestDTO.class);
+    }
+
+    @Benchmark
+    public byte[] serializePage(PageState state) throws IOException {
+        return objectMapper.writeValueAsBytes(state.page);
+    }
+
+    @State(Scope.Benchmark)
+    public static class PageState {
+        @Param({"10", "100"})
+        public int pageSize;
+
+        Page<PatientResponseDTO> page;
+
+        @Setup
+        public void setUp() {
+            page = new PageImpl<>(PatientFixtures.responses(pageSize), PageRequest.of(0, pageSize, Sort.by("name")), 100_000);
+        }
+    }
+}
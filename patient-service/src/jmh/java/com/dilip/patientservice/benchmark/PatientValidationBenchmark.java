@@ -0,0 +1,73 @@
+package com.dilip.patientservice.benchmark;
+
+import com.dilip.patientservice.dto.PatientRequestDTO;
+import com.dilip.patientservice.dto.validators.CreatePatientValidationGroup;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validation;
+import jakarta.validation.Validator;
+import jakarta.validation.ValidatorFactory;
+import jakarta.validation.groups.Default;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Bean Validation cost of PatientRequestDTO, including the @Pattern and @Email regexes
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 2, jvmArgsAppend = "-XX:+UseParallelGC")
+public class PatientValidationBenchmark {
+    private ValidatorFactory validatorFactory;
+    private Validator validator;
+    private PatientRequestDTO valid;
+    private PatientRequestDTO invalid;
+
+    @Setup
+    public void setUp() {
+        validatorFactory = Validation.buildDefaultValidatorFactory();
+        validator = validatorFactory.getValidator();
+        valid = PatientFixtures.request(42);
+        invalid = PatientRequestDTO.builder()
+                .name("")
+                .email("not-an-email")
+                .address("1 Main St")
+                .dateOfBirth("15/06/1985")
+                .registeredDate("2024-1-1")
+                .build();
+    }
+
+    @TearDown
+    public void tearDown() {
+        validatorFactory.close();
+    }
+
+    @Benchmark
+    public Set<ConstraintViolation<PatientRequestDTO>> validateCreate() {
+        return validator.validate(valid, Default.class, CreatePatientValidationGroup.class);
+    }
+
+    @Benchmark
+    public Set<ConstraintViolation<PatientRequestDTO>> validateUpdate() {
+        return validator.validate(valid);
+    }
+
+    @Benchmark
+    public Set<ConstraintViolation<PatientRequestDTO>> validateInvalid() {
+        return validator.validate(invalid, Default.class, CreatePatientValidationGroup.class);
+    }
+}
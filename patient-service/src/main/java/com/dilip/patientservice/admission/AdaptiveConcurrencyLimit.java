@@ -0,0 +1,148 @@
+package com.dilip.patientservice.admission;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Concurrency limit that follows observed latency, after the gradient algorithm of Netflix's
+ * concurrency-limits library.
+ * <p>
+ * Completed requests feed a window of latency samples. When a window closes, its average is
+ * compared with a slow-moving long-term average: while latency stays within {@code tolerance}
+ * times the long-term average the limit grows by roughly its square root, and once queueing
+ * pushes latency beyond that the limit shrinks in proportion. Windows in which fewer than half
+ * the permits were used don't grow the limit, since it wasn't what held requests back.
+ * <p>
+ * Acquiring a permit is a single CAS; the limit is recomputed by whichever thread closes the
+ * window, without blocking the others.
+ */
+public class AdaptiveConcurrencyLimit {
+    private static final int MIN_WINDOW_SAMPLES = 10;
+    private static final double LONG_RTT_ALPHA = 0.05;
+    private static final double SMOOTHING = 0.2;
+
+    private final int minLimit;
+    private final int maxLimit;
+    private final double tolerance;
+    private final long windowNanos;
+
+    private final AtomicInteger inflight = new AtomicInteger();
+    private final AtomicInteger windowMaxInflight = new AtomicInteger();
+    private final LongAdder windowLatencyNanos = new LongAdder();
+    private final LongAdder windowSamples = new LongAdder();
+    private final ReentrantLock updateLock = new ReentrantLock();
+
+    private volatile int limit;
+    private volatile boolean congested;
+    private volatile long windowStart = System.nanoTime();
+
+    // Guarded by updateLock
+    private double estimatedLimit;
+    private double longRttNanos;
+
+    /**
+     * @param tolerance how far the window latency may exceed the long-term average before the limit shrinks
+     * @param windowNanos minimum length of a sampling window
+     */
+    public AdaptiveConcurrencyLimit(int initialLimit, int minLimit, int maxLimit, double tolerance, long windowNanos) {
+        if (minLimit < 1 || minLimit > initialLimit || initialLimit > maxLimit) {
+            throw new IllegalArgumentException("Concurrency limits must satisfy 1 <= min <= initial <= max");
+        }
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.tolerance = tolerance;
+        this.windowNanos = windowNanos;
+        this.limit = initialLimit;
+        this.estimatedLimit = initialLimit;
+    }
+
+    /**
+     * Takes a permit if fewer than limit requests are in flight
+     *
+     * @return whether the request may proceed; if so it must be released exactly once
+     */
+    public boolean tryAcquire() {
+        int current;
+        do {
+            current = inflight.get();
+            if (current >= limit) {
+                return false;
+            }
+        } while (!inflight.compareAndSet(current, current + 1));
+        windowMaxInflight.accumulateAndGet(current + 1, Math::max);
+        return true;
+    }
+
+    /**
+     * Returns a permit and records how long the request took
+     */
+    public void release(long latencyNanos) {
+        inflight.decrementAndGet();
+        windowLatencyNanos.add(latencyNanos);
+        windowSamples.increment();
+
+        long now = System.nanoTime();
+        if (now - windowStart >= windowNanos && windowSamples.sum() >= MIN_WINDOW_SAMPLES && updateLock.tryLock()) {
+            try {
+                if (now - windowStart >= windowNanos) {
+                    closeWindow(now);
+                }
+            } finally {
+                updateLock.unlock();
+            }
+        }
+    }
+
+    /**
+     * Returns a permit without a latency sample, for requests whose duration doesn't reflect load
+     */
+    public void release() {
+        inflight.decrementAndGet();
+    }
+
+    public int getLimit() {
+        return limit;
+    }
+
+    public int getInflight() {
+        return inflight.get();
+    }
+
+    /**
+     * Whether the last window's latency was beyond tolerance, i.e. the limit is shrinking because of queueing
+     */
+    public boolean isCongested() {
+        return congested;
+    }
+
+    private void closeWindow(long now) {
+        // Samples added concurrently may land in either window; that only blurs the average slightly
+        long samples = windowSamples.sumThenReset();
+        long totalNanos = windowLatencyNanos.sumThenReset();
+        int maxInflight = windowMaxInflight.getAndSet(inflight.get());
+        windowStart = now;
+        if (samples == 0) {
+            return;
+        }
+
+        double shortRttNanos = Math.max(1.0, (double) totalNanos / samples);
+        longRttNanos = longRttNanos == 0
+                ? shortRttNanos
+                : longRttNanos * (1 - LONG_RTT_ALPHA) + shortRttNanos * LONG_RTT_ALPHA;
+        // After an overload the long-term average is stale and high; let it come down quickly
+        if (longRttNanos / shortRttNanos > 2) {
+            longRttNanos *= 0.95;
+        }
+
+        double gradient = Math.max(0.5, Math.min(1.0, tolerance * longRttNanos / shortRttNanos));
+        congested = gradient < 1.0;
+        if (maxInflight < estimatedLimit / 2 && !congested) {
+            return;
+        }
+        double newLimit = estimatedLimit * gradient + Math.sqrt(estimatedLimit);
+        estimatedLimit = Math.max(minLimit, Math.min(maxLimit,
+                estimatedLimit * (1 - SMOOTHING) + newLimit * SMOOTHING));
+        limit = (int) estimatedLimit;
+    }
+}
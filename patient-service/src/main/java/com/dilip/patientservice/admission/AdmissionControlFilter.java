@@ -0,0 +1,188 @@
+package com.dilip.patientservice.admission;
+
+import com.dilip.patientservice.dto.ErrorResponseDTO;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.AsyncEvent;
+import jakarta.servlet.AsyncListener;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Admission control for the patient API. Reads and writes draw on separate
+ * {@link AdaptiveConcurrencyLimit}s, so a burst of imports can't starve lookups and the
+ * other way round. Requests over the limit are turned away before they reach a controller
+ * or take a connection: with 503 while latency shows the service is congested, otherwise
+ * with 429, both with Retry-After and a body serialized once at startup.
+ * <p>
+ * Runs after the HTTP observation filter, so rejections still show up in request metrics.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 10)
+public class AdmissionControlFilter extends OncePerRequestFilter {
+    private static final String PATIENT_API = "/api/patients";
+
+    private final boolean enabled;
+    private final AdaptiveConcurrencyLimit readLimit;
+    private final AdaptiveConcurrencyLimit writeLimit;
+    private final String retryAfterSeconds;
+    private final byte[] tooManyRequestsBody;
+    private final byte[] unavailableBody;
+    private final Counter readsRejected;
+    private final Counter writesRejected;
+
+    public AdmissionControlFilter(ObjectMapper objectMapper,
+                                  MeterRegistry meterRegistry,
+                                  @Value("${patient.admission.enabled:true}") boolean enabled,
+                                  @Value("${patient.admission.read.initial-limit:100}") int readInitialLimit,
+                                  @Value("${patient.admission.read.min-limit:10}") int readMinLimit,
+                                  @Value("${patient.admission.read.max-limit:500}") int readMaxLimit,
+                                  @Value("${patient.admission.write.initial-limit:20}") int writeInitialLimit,
+                                  @Value("${patient.admission.write.min-limit:2}") int writeMinLimit,
+                                  @Value("${patient.admission.write.max-limit:100}") int writeMaxLimit,
+                                  @Value("${patient.admission.latency-tolerance:2.0}") double tolerance,
+                                  @Value("${patient.admission.window:1s}") Duration window,
+                                  @Value("${patient.admission.retry-after:1s}") Duration retryAfter) {
+        this.enabled = enabled;
+        this.readLimit = new AdaptiveConcurrencyLimit(readInitialLimit, readMinLimit, readMaxLimit,
+                tolerance, window.toNanos());
+        this.writeLimit = new AdaptiveConcurrencyLimit(writeInitialLimit, writeMinLimit, writeMaxLimit,
+                tolerance, window.toNanos());
+        this.retryAfterSeconds = Long.toString(Math.max(1, retryAfter.toSeconds()));
+        this.tooManyRequestsBody = serialize(objectMapper,
+                ErrorResponseDTO.of(HttpStatus.TOO_MANY_REQUESTS, "Too many concurrent requests, retry later"));
+        this.unavailableBody = serialize(objectMapper,
+                ErrorResponseDTO.of(HttpStatus.SERVICE_UNAVAILABLE, "Service is overloaded, retry later"));
+
+        this.readsRejected = Counter.builder("patient.admission.rejected").tag("budget", "read").register(meterRegistry);
+        this.writesRejected = Counter.builder("patient.admission.rejected").tag("budget", "write").register(meterRegistry);
+        registerGauges(meterRegistry, "read", readLimit);
+        registerGauges(meterRegistry, "write", writeLimit);
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !enabled || !request.getRequestURI().startsWith(PATIENT_API);
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        boolean read = isRead(request);
+        AdaptiveConcurrencyLimit limit = read ? readLimit : writeLimit;
+        if (!limit.tryAcquire()) {
+            (read ? readsRejected : writesRejected).increment();
+            reject(response, limit.isCongested());
+            return;
+        }
+
+        long start = System.nanoTime();
+        boolean released = false;
+        try {
+            filterChain.doFilter(request, response);
+            if (request.isAsyncStarted()) {
+                // Streaming exports outlive this call; hold the permit until they finish
+                request.getAsyncContext().addListener(new ReleaseOnCompletion(limit));
+                released = true;
+            }
+        } finally {
+            if (!released) {
+                limit.release(System.nanoTime() - start);
+            }
+        }
+    }
+
+    /**
+     * Batch get is a POST but only reads
+     */
+    private static boolean isRead(HttpServletRequest request) {
+        String method = request.getMethod();
+        return HttpMethod.GET.matches(method) || HttpMethod.HEAD.matches(method)
+                || request.getRequestURI().endsWith("/batch-get");
+    }
+
+    private void reject(HttpServletResponse response, boolean congested) throws IOException {
+        byte[] body = congested ? unavailableBody : tooManyRequestsBody;
+        response.setStatus(congested ? HttpStatus.SERVICE_UNAVAILABLE.value() : HttpStatus.TOO_MANY_REQUESTS.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, retryAfterSeconds);
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        response.setContentLength(body.length);
+        response.getOutputStream().write(body);
+    }
+
+    private static byte[] serialize(ObjectMapper objectMapper, ErrorResponseDTO body) {
+        try {
+            return objectMapper.writeValueAsBytes(body);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Failed to serialize admission error body", e);
+        }
+    }
+
+    private static void registerGauges(MeterRegistry meterRegistry, String budget, AdaptiveConcurrencyLimit limit) {
+        Gauge.builder("patient.admission.limit", limit, AdaptiveConcurrencyLimit::getLimit)
+                .description("Current concurrency limit")
+                .tag("budget", budget)
+                .register(meterRegistry);
+        Gauge.builder("patient.admission.inflight", limit, AdaptiveConcurrencyLimit::getInflight)
+                .description("Admitted requests in flight")
+                .tag("budget", budget)
+                .register(meterRegistry);
+    }
+
+    /**
+     * Releases the permit of an async request once, without a latency sample:
+     * a long export says nothing about how loaded the service is
+     */
+    private static final class ReleaseOnCompletion implements AsyncListener {
+        private final AdaptiveConcurrencyLimit limit;
+        private final AtomicBoolean released = new AtomicBoolean();
+
+        private ReleaseOnCompletion(AdaptiveConcurrencyLimit limit) {
+            this.limit = limit;
+        }
+
+        @Override
+        public void onComplete(AsyncEvent event) {
+            release();
+        }
+
+        @Override
+        public void onTimeout(AsyncEvent event) {
+            release();
+        }
+
+        @Override
+        public void onError(AsyncEvent event) {
+            release();
+        }
+
+        @Override
+        public void onStartAsync(AsyncEvent event) {
+            // the permit stays with the request
+        }
+
+        private void release() {
+            if (released.compareAndSet(false, true)) {
+                limit.release();
+            }
+        }
+    }
+}
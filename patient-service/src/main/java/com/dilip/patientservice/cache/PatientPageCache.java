@@ -0,0 +1,144 @@
+package com.dilip.patientservice.cache;
+
+import com.dilip.patientservice.dto.PatientResponseDTO;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.Duration;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Fully serialized JSON bodies of the first patient list pages, with a gzip copy of larger ones.
+ * <p>
+ * Entries remember the write generation they were read at and only count as hits while it is
+ * still current. Every committed write bumps the generation, so invalidation is a single
+ * increment and a hit is never older than the last local commit. Entries also expire after
+ * a fixed time, which frees pages of old generations and bounds how long a page can miss
+ * writes committed by other instances.
+ */
+@Component
+public class PatientPageCache {
+    private final ObjectMapper objectMapper;
+    private final boolean enabled;
+    private final int maxPages;
+    private final int gzipMinSize;
+    private final Cache<PageKey, CachedPage> pages;
+    private final Counter hits;
+    private final Counter misses;
+    private volatile long generation;
+
+    public PatientPageCache(ObjectMapper objectMapper,
+                            MeterRegistry meterRegistry,
+                            @Value("${patient.page-cache.enabled:false}") boolean enabled,
+                            @Value("${patient.page-cache.max-pages:5}") int maxPages,
+                            @Value("${patient.page-cache.max-entries:256}") int maxEntries,
+                            @Value("${patient.page-cache.expire-after-write:1m}") Duration expireAfterWrite,
+                            @Value("${patient.page-cache.gzip-min-size:2048}") int gzipMinSize) {
+        this.objectMapper = objectMapper;
+        this.enabled = enabled;
+        this.maxPages = maxPages;
+        this.gzipMinSize = gzipMinSize;
+        this.pages = Caffeine.newBuilder()
+                .maximumSize(maxEntries)
+                .expireAfterWrite(expireAfterWrite)
+                .build();
+        this.hits = Counter.builder("patient.page.cache.requests").tag("result", "hit").register(meterRegistry);
+        this.misses = Counter.builder("patient.page.cache.requests").tag("result", "miss").register(meterRegistry);
+    }
+
+    /**
+     * Serialized, optionally compressed body of a page and its entity tag
+     *
+     * @param gzip gzip-compressed json, or null if the body is below the compression threshold
+     */
+    public record CachedPage(long generation, byte[] json, byte[] gzip, String eTag) {
+    }
+
+    private record PageKey(int page, int size, String sort) {
+    }
+
+    /**
+     * Whether the page is one of the first few that are worth caching
+     */
+    public boolean isCacheable(Pageable pageable) {
+        return enabled && pageable.isPaged() && pageable.getPageNumber() < maxPages;
+    }
+
+    /**
+     * Returns the cached body of a page, or loads, serializes and caches it
+     *
+     * @param pageable normalized paging request, used as the key
+     * @param loader   reads the page from the service on a miss
+     * @param eTagger  computes the entity tag of a freshly loaded page
+     * @return CachedPage for the current write generation
+     */
+    public CachedPage get(Pageable pageable, Supplier<Page<PatientResponseDTO>> loader,
+                          Function<Page<PatientResponseDTO>, String> eTagger) {
+        PageKey key = new PageKey(pageable.getPageNumber(), pageable.getPageSize(), pageable.getSort().toString());
+        // Read before loading: if a write commits meanwhile the entry is born stale instead of wrongly fresh
+        long current = generation;
+        CachedPage cached = pages.getIfPresent(key);
+        if (cached != null && cached.generation() == current) {
+            hits.increment();
+            return cached;
+        }
+
+        misses.increment();
+        Page<PatientResponseDTO> page = loader.get();
+        byte[] json;
+        try {
+            json = objectMapper.writeValueAsBytes(page);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Failed to serialize patient page", e);
+        }
+        CachedPage fresh = new CachedPage(current, json, json.length >= gzipMinSize ? gzip(json) : null,
+                eTagger.apply(page));
+        pages.put(key, fresh);
+        return fresh;
+    }
+
+    /**
+     * Invalidates every cached page once the current transaction commits
+     */
+    public void invalidate() {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            bump();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                bump();
+            }
+        });
+    }
+
+    private synchronized void bump() {
+        generation++;
+    }
+
+    private static byte[] gzip(byte[] json) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(json.length / 4);
+        try (GZIPOutputStream gzip = new GZIPOutputStream(out)) {
+            gzip.write(json);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return out.toByteArray();
+    }
+}
@@ -0,0 +1,103 @@
+package com.dilip.patientservice.cache;
+
+import org.springframework.cache.Cache;
+import org.springframework.lang.NonNull;
+import org.springframework.lang.Nullable;
+
+import java.util.concurrent.Callable;
+
+/**
+ * Two-level cache: a bounded in-process first tier in front of a larger shared second tier.
+ * Reads fall through to the second tier on a first-tier miss and promote what they find;
+ * writes and evictions go to both tiers, second tier first.
+ */
+public class TieredCache implements Cache {
+    private final Cache firstTier;
+    private final Cache secondTier;
+
+    public TieredCache(Cache firstTier, Cache secondTier) {
+        this.firstTier = firstTier;
+        this.secondTier = secondTier;
+    }
+
+    public Cache getFirstTier() {
+        return firstTier;
+    }
+
+    public Cache getSecondTier() {
+        return secondTier;
+    }
+
+    @Override
+    @NonNull
+    public String getName() {
+        return firstTier.getName();
+    }
+
+    @Override
+    @NonNull
+    public Object getNativeCache() {
+        return this;
+    }
+
+    @Override
+    @Nullable
+    public ValueWrapper get(@NonNull Object key) {
+        ValueWrapper value = firstTier.get(key);
+        if (value == null) {
+            value = secondTier.get(key);
+            if (value != null) {
+                firstTier.put(key, value.get());
+            }
+        }
+        return value;
+    }
+
+    @Override
+    @Nullable
+    public <T> T get(@NonNull Object key, @Nullable Class<T> type) {
+        ValueWrapper value = get(key);
+        if (value == null) {
+            return null;
+        }
+        Object stored = value.get();
+        if (stored != null && type != null && !type.isInstance(stored)) {
+            throw new IllegalStateException("Cached value is not of required type [" + type.getName() + "]: " + stored);
+        }
+        @SuppressWarnings("unchecked")
+        T typed = (T) stored;
+        return typed;
+    }
+
+    @Override
+    @Nullable
+    public <T> T get(@NonNull Object key, @NonNull Callable<T> valueLoader) {
+        try {
+            return firstTier.get(key, () -> secondTier.get(key, valueLoader));
+        } catch (ValueRetrievalException e) {
+            // Both tiers wrap the loader's failure; callers expect it wrapped once
+            if (e.getCause() instanceof ValueRetrievalException inner) {
+                throw inner;
+            }
+            throw e;
+        }
+    }
+
+    @Override
+    public void put(@NonNull Object key, @Nullable Object value) {
+        secondTier.put(key, value);
+        firstTier.put(key, value);
+    }
+
+    @Override
+    public void evict(@NonNull Object key) {
+        secondTier.evict(key);
+        firstTier.evict(key);
+    }
+
+    @Override
+    public void clear() {
+        secondTier.clear();
+        firstTier.clear();
+    }
+}
@@ -0,0 +1,47 @@
+package com.dilip.patientservice.cache;
+
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.lang.NonNull;
+import org.springframework.lang.Nullable;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Combines two cache managers into {@link TieredCache}s. Only caches known to the
+ * first-tier manager are exposed, so its configuration decides which caches exist.
+ */
+public class TieredCacheManager implements CacheManager {
+    private final CacheManager firstTier;
+    private final CacheManager secondTier;
+    private final Map<String, TieredCache> caches = new ConcurrentHashMap<>();
+
+    public TieredCacheManager(CacheManager firstTier, CacheManager secondTier) {
+        this.firstTier = firstTier;
+        this.secondTier = secondTier;
+    }
+
+    @Override
+    @Nullable
+    public Cache getCache(@NonNull String name) {
+        return caches.computeIfAbsent(name, this::createCache);
+    }
+
+    @Override
+    @NonNull
+    public Collection<String> getCacheNames() {
+        return firstTier.getCacheNames();
+    }
+
+    @Nullable
+    private TieredCache createCache(String name) {
+        Cache first = firstTier.getCache(name);
+        Cache second = secondTier.getCache(name);
+        if (first == null || second == null) {
+            return null;
+        }
+        return new TieredCache(first, second);
+    }
+}
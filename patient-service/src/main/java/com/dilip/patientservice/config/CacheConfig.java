@@ -0,0 +1,55 @@
+package com.dilip.patientservice.config;
+
+import com.dilip.patientservice.cache.TieredCache;
+import com.dilip.patientservice.cache.TieredCacheManager;
+import com.github.benmanes.caffeine.cache.CaffeineSpec;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.actuate.metrics.cache.CacheMeterBinderProvider;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.caffeine.CaffeineCache;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+/**
+ * Patient read cache. The first tier is a bounded Caffeine cache; an optional second
+ * tier is backed by a larger, longer-lived Caffeine stand-in here and can be swapped for a shared store.
+ * Caching advice runs outside the transaction advice so hits never open a transaction.
+ */
+@Configuration
+@EnableCaching(order = Ordered.HIGHEST_PRECEDENCE)
+public class CacheConfig {
+    public static final String PATIENTS_CACHE = "patients";
+
+    @Bean
+    public CacheManager cacheManager(
+            @Value("${patient.cache.spec:maximumSize=100000,expireAfterWrite=10m,recordStats}") String spec,
+            @Value("${patient.cache.second-tier.enabled:false}") boolean secondTierEnabled,
+            @Value("${patient.cache.second-tier.spec:maximumSize=1000000,expireAfterWrite=1h}") String secondTierSpec
+    ) {
+        CaffeineCacheManager firstTier = new CaffeineCacheManager(PATIENTS_CACHE);
+        firstTier.setCaffeineSpec(CaffeineSpec.parse(spec));
+        firstTier.setAllowNullValues(false);
+        if (!secondTierEnabled) {
+            return firstTier;
+        }
+
+        CaffeineCacheManager secondTier = new CaffeineCacheManager(PATIENTS_CACHE);
+        secondTier.setCaffeineSpec(CaffeineSpec.parse(secondTierSpec));
+        secondTier.setAllowNullValues(false);
+        return new TieredCacheManager(firstTier, secondTier);
+    }
+
+    /**
+     * Publishes hit/miss/eviction metrics of the first tier for tiered caches
+     */
+    @Bean
+    public CacheMeterBinderProvider<TieredCache> tieredCacheMeterBinderProvider() {
+        return (cache, tags) -> cache.getFirstTier() instanceof CaffeineCache caffeineCache
+                ? new CaffeineCacheMetrics<>(caffeineCache.getNativeCache(), cache.getName(), tags)
+                : null;
+    }
+}
@@ -0,0 +1,43 @@
+package com.dilip.patientservice.config;
+
+import com.dilip.patientservice.dto.ErrorResponseDTO;
+import com.dilip.patientservice.dto.PatientChangeDTO;
+import com.dilip.patientservice.dto.PatientRequestDTO;
+import com.dilip.patientservice.dto.PatientResponseDTO;
+import com.dilip.patientservice.model.TimeOrderedUuidGenerator;
+import com.dilip.patientservice.repository.PatientRow;
+import com.dilip.patientservice.repository.PatientTextRow;
+import com.dilip.patientservice.repository.PatientVersion;
+import org.springframework.aot.hint.MemberCategory;
+import org.springframework.aot.hint.RuntimeHints;
+import org.springframework.aot.hint.RuntimeHintsRegistrar;
+import org.springframework.aot.hint.TypeHint;
+import org.springframework.aot.hint.TypeReference;
+import org.springframework.aot.hint.annotation.RegisterReflectionForBinding;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.ImportRuntimeHints;
+
+/**
+ * Reflection and resource hints for the native image, covering what Spring's AOT processing
+ * cannot see: types Hibernate instantiates reflectively, payloads serialized outside of
+ * controllers and the Flyway migrations of the postgres profile.
+ */
+@Configuration
+@ImportRuntimeHints(NativeHintsConfig.PatientServiceRuntimeHints.class)
+@RegisterReflectionForBinding({PatientRequestDTO.class, PatientResponseDTO.class, PatientChangeDTO.class,
+        ErrorResponseDTO.class})
+public class NativeHintsConfig {
+
+    static class PatientServiceRuntimeHints implements RuntimeHintsRegistrar {
+
+        @Override
+        public void registerHints(RuntimeHints hints, ClassLoader classLoader) {
+            // Custom id generator and JPQL constructor projections
+            hints.reflection().registerTypes(
+                    TypeReference.listOf(TimeOrderedUuidGenerator.class, PatientRow.class, PatientTextRow.class,
+                            PatientVersion.class),
+                    TypeHint.builtWith(MemberCategory.INVOKE_PUBLIC_CONSTRUCTORS));
+            hints.resources().registerPattern("db/migration/postgresql/*.sql");
+        }
+    }
+}
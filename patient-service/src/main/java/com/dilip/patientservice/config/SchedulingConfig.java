@@ -0,0 +1,12 @@
+package com.dilip.patientservice.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+/**
+ * Enables background jobs such as the patient change relay
+ */
+@Configuration
+@EnableScheduling
+public class SchedulingConfig {
+}
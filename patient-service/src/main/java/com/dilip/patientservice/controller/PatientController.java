@@ -1,8 +1,24 @@
 package com.dilip.patientservice.controller;
 
+import com.dilip.patientservice.cache.PatientPageCache;
+import com.dilip.patientservice.config.WireFormatConfig;
+import com.dilip.patientservice.dto.BulkImportResultDTO;
+import com.dilip.patientservice.dto.PatientChangeFeedDTO;
+import com.dilip.patientservice.dto.PatientBatchRequestDTO;
+import com.dilip.patientservice.dto.PatientBatchResponseDTO;
+import com.dilip.patientservice.dto.PatientMatchDTO;
+import com.dilip.patientservice.dto.PatientPatchDTO;
 import com.dilip.patientservice.dto.PatientRequestDTO;
 import com.dilip.patientservice.dto.PatientResponseDTO;
+import com.dilip.patientservice.dto.PatientSliceDTO;
 import com.dilip.patientservice.dto.validators.CreatePatientValidationGroup;
+import com.dilip.patientservice.repository.PatientSearchCriteria;
+import com.dilip.patientservice.repository.PatientVersion;
+import com.dilip.patientservice.search.PatientTextIndex;
+import com.dilip.patientservice.service.PatientChangeService;
+import com.dilip.patientservice.service.PatientExportFormat;
+import com.dilip.patientservice.service.PatientExportService;
+import com.dilip.patientservice.service.PatientImportService;
 import com.dilip.patientservice.service.PatientService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
@@ -11,16 +27,27 @@ import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.groups.Default;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.web.PageableDefault;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.InvalidMediaTypeException;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.util.InvalidMimeTypeException;
+import org.springframework.util.MimeTypeUtils;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.InputStream;
+import java.time.LocalDate;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.UUID;
 
@@ -30,38 +57,217 @@ import java.util.UUID;
 @Tag(name = "Patient Controller", description = "Endpoints for managing patients")
 @Validated
 public class PatientController {
+    /**
+     * Representations of patient resources, in the order Spring's message converters are tried
+     */
+    private static final List<MediaType> PRODUCED_TYPES = List.of(
+            MediaType.APPLICATION_JSON, MediaType.APPLICATION_CBOR, WireFormatConfig.APPLICATION_SMILE);
+
     private final PatientService patientService;
+    private final PatientExportService patientExportService;
+    private final PatientImportService patientImportService;
+    private final PatientTextIndex patientTextIndex;
+    private final PatientPageCache patientPageCache;
+    private final PatientChangeService patientChangeService;
 
     @GetMapping
     @Operation(summary = "Get all patients with pagination")
-    @ApiResponse(responseCode = "200", description = "Successfully retrieved patients")
-    public ResponseEntity<Page<PatientResponseDTO>> getPatients(
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Successfully retrieved patients"),
+            @ApiResponse(responseCode = "304", description = "Page unchanged since the ETag in If-None-Match")
+    })
+    public ResponseEntity<?> getPatients(
             @Parameter(description = "Pagination information") 
-            @PageableDefault(size = 10, sort = "name") Pageable pageable
+            @PageableDefault(size = 10, sort = "name") Pageable pageable,
+
+            HttpServletRequest request
+    ) {
+        MediaType representation = negotiatedType(request);
+        if (patientPageCache.isCacheable(pageable) && MediaType.APPLICATION_JSON.equals(representation)) {
+            return cachedPage(pageable, request);
+        }
+        Page<PatientResponseDTO> page = patientService.getPatients(pageable);
+        return ResponseEntity.ok()
+                .eTag(PatientETags.forRepresentation(PatientETags.of(page.getContent(), page.getTotalElements()),
+                        representation))
+                .varyBy(HttpHeaders.ACCEPT)
+                .body(page);
+    }
+
+    @GetMapping("/scroll")
+    @Operation(summary = "Get patients with keyset pagination ordered by name")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Successfully retrieved patients"),
+            @ApiResponse(responseCode = "304", description = "Page unchanged since the ETag in If-None-Match"),
+            @ApiResponse(responseCode = "400", description = "Invalid cursor")
+    })
+    public ResponseEntity<PatientSliceDTO> scrollPatients(
+            @Parameter(description = "Continuation token from the previous page")
+            @RequestParam(required = false) String cursor,
+
+            @Parameter(description = "Page size")
+            @RequestParam(defaultValue = "10") int size,
+
+            HttpServletRequest request
     ) {
-        return ResponseEntity.ok(patientService.getPatients(pageable));
+        PatientSliceDTO slice = patientService.getPatientSlice(cursor, size);
+        return sliceResponse(slice, request);
+    }
+
+    @GetMapping("/search")
+    @Operation(summary = "Search patients by name prefix, email and date ranges with keyset pagination")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Successfully searched patients"),
+            @ApiResponse(responseCode = "304", description = "Page unchanged since the ETag in If-None-Match"),
+            @ApiResponse(responseCode = "400", description = "Invalid filter or cursor")
+    })
+    public ResponseEntity<PatientSliceDTO> searchPatients(
+            @Parameter(description = "Case-insensitive name prefix")
+            @RequestParam(required = false) String name,
+
+            @Parameter(description = "Exact email address")
+            @RequestParam(required = false) String email,
+
+            @Parameter(description = "Earliest date of birth, yyyy-MM-dd")
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate dateOfBirthFrom,
+
+            @Parameter(description = "Latest date of birth, yyyy-MM-dd")
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate dateOfBirthTo,
+
+            @Parameter(description = "Earliest registration date, yyyy-MM-dd")
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate registeredDateFrom,
+
+            @Parameter(description = "Latest registration date, yyyy-MM-dd")
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate registeredDateTo,
+
+            @Parameter(description = "Continuation token from the previous page")
+            @RequestParam(required = false) String cursor,
+
+            @Parameter(description = "Page size")
+            @RequestParam(defaultValue = "10") int size,
+
+            HttpServletRequest request
+    ) {
+        PatientSearchCriteria criteria = new PatientSearchCriteria(name, email,
+                dateOfBirthFrom, dateOfBirthTo, registeredDateFrom, registeredDateTo);
+        PatientSliceDTO slice = patientService.searchPatients(criteria, cursor, size);
+        return sliceResponse(slice, request);
+    }
+
+    @GetMapping("/lookup")
+    @Operation(summary = "Fuzzy full-text lookup by name or address, tolerant to typos and partial words")
+    @ApiResponse(responseCode = "200", description = "Matches ordered by descending score")
+    public ResponseEntity<List<PatientMatchDTO>> lookupPatients(
+            @Parameter(description = "Free text to match against name and address", required = true)
+            @RequestParam String q,
+
+            @Parameter(description = "Maximum number of matches")
+            @RequestParam(defaultValue = "10") int limit
+    ) {
+        return ResponseEntity.ok(patientTextIndex.search(q, limit));
+    }
+
+    @GetMapping("/changes")
+    @Operation(summary = "Incremental feed of patient changes after a position")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Changes in feed order"),
+            @ApiResponse(responseCode = "400", description = "Invalid position"),
+            @ApiResponse(responseCode = "410", description = "Changes after the position were purged, resync and restart from 0")
+    })
+    public ResponseEntity<PatientChangeFeedDTO> getChanges(
+            @Parameter(description = "Last position already processed, 0 for the oldest retained change")
+            @RequestParam(defaultValue = "0") long since,
+
+            @Parameter(description = "Maximum number of changes")
+            @RequestParam(defaultValue = "100") int limit
+    ) {
+        return ResponseEntity.ok(patientChangeService.getChanges(since, limit));
     }
 
     @GetMapping("/all")
     @Operation(summary = "Get all patients without pagination")
     @ApiResponse(responseCode
             = "200", description = "Successfully retrieved patients")
-    public ResponseEntity<List<PatientResponseDTO>> getAllPatients() {
-        return ResponseEntity.ok(patientService.getPatients());
+    public ResponseEntity<StreamingResponseBody> getAllPatients() {
+        return streamPatients(PatientExportFormat.JSON_ARRAY);
+    }
+
+    @GetMapping(value = "/all", produces = MediaType.APPLICATION_CBOR_VALUE)
+    @Operation(summary = "Get all patients without pagination as a CBOR array")
+    @ApiResponse(responseCode = "200", description = "Successfully retrieved patients")
+    public ResponseEntity<StreamingResponseBody> getAllPatientsCbor() {
+        return streamPatients(PatientExportFormat.CBOR_ARRAY);
+    }
+
+    @GetMapping(value = "/export", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    @Operation(summary = "Stream all patients as newline-delimited JSON")
+    @ApiResponse(responseCode = "200", description = "Successfully streamed patients")
+    public ResponseEntity<StreamingResponseBody> exportPatients() {
+        return streamPatients(PatientExportFormat.NDJSON);
+    }
+
+    @GetMapping(value = "/export", produces = WireFormatConfig.APPLICATION_CBOR_SEQ_VALUE)
+    @Operation(summary = "Stream all patients as a CBOR sequence")
+    @ApiResponse(responseCode = "200", description = "Successfully streamed patients")
+    public ResponseEntity<StreamingResponseBody> exportPatientsCbor() {
+        return streamPatients(PatientExportFormat.CBOR_SEQUENCE);
     }
 
     @GetMapping("/{id}")
     @Operation(summary = "Get patient by ID")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Successfully retrieved patient"),
+            @ApiResponse(responseCode = "304", description = "Patient unchanged since If-None-Match or If-Modified-Since"),
             @ApiResponse(responseCode = "404", description = "Patient not found", 
                     content = @Content(schema = @Schema(implementation = Object.class)))
     })
     public ResponseEntity<PatientResponseDTO> getPatientById(
             @Parameter(description = "Patient ID", required = true)
-            @PathVariable UUID id
+            @PathVariable UUID id,
+
+            HttpServletRequest request
     ) {
-        return ResponseEntity.ok(patientService.getPatientById(id));
+        // Revalidation only needs the version, which is answered from the cache or a two-column
+        // query, so an unchanged patient is never loaded, mapped or serialized
+        if (PatientETags.isConditional(request)) {
+            PatientVersion current = patientService.getPatientVersion(id);
+            String eTag = PatientETags.forRepresentation(PatientETags.of(current.version()), negotiatedType(request));
+            long lastModified = current.lastModified().toEpochMilli();
+            if (PatientETags.isNotModified(request, eTag, lastModified)) {
+                return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+                        .eTag(eTag)
+                        .lastModified(lastModified)
+                        .varyBy(HttpHeaders.ACCEPT)
+                        .build();
+            }
+        }
+        return withValidators(HttpStatus.OK, patientService.getPatientById(id), request);
+    }
+
+    @GetMapping("/batch")
+    @Operation(summary = "Get many patients by ID")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Successfully resolved patients"),
+            @ApiResponse(responseCode = "400", description = "Too many ids")
+    })
+    public ResponseEntity<PatientBatchResponseDTO> getPatientsByIds(
+            @Parameter(description = "Comma-separated patient IDs", required = true)
+            @RequestParam List<UUID> ids
+    ) {
+        return ResponseEntity.ok(patientService.getPatientsByIds(ids));
+    }
+
+    @PostMapping("/batch-get")
+    @Operation(summary = "Get many patients by ID from a request body")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Successfully resolved patients"),
+            @ApiResponse(responseCode = "400", description = "Invalid input or too many ids")
+    })
+    public ResponseEntity<PatientBatchResponseDTO> batchGetPatients(
+            @Parameter(description = "Patient IDs", required = true)
+            @Validated @RequestBody PatientBatchRequestDTO patientBatchRequestDTO
+    ) {
+        return ResponseEntity.ok(patientService.getPatientsByIds(patientBatchRequestDTO.ids()));
     }
 
     @PostMapping
@@ -74,9 +280,28 @@ public class PatientController {
     public ResponseEntity<PatientResponseDTO> createPatient(
             @Parameter(description = "Patient data", required = true)
             @Validated({Default.class, CreatePatientValidationGroup.class})
-            @RequestBody PatientRequestDTO patientRequestDTO
+            @RequestBody PatientRequestDTO patientRequestDTO,
+
+            HttpServletRequest request
     ) {
-        return new ResponseEntity<>(patientService.createPatient(patientRequestDTO), HttpStatus.CREATED);
+        return withValidators(HttpStatus.CREATED, patientService.createPatient(patientRequestDTO), request);
+    }
+
+    @PostMapping(value = "/bulk", consumes = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_NDJSON_VALUE,
+            MediaType.APPLICATION_CBOR_VALUE, WireFormatConfig.APPLICATION_CBOR_SEQ_VALUE})
+    @Operation(summary = "Create many patients from a JSON array, NDJSON stream, CBOR array or CBOR sequence")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Import processed, see per-row results"),
+            @ApiResponse(responseCode = "400",
+                    description = "Malformed payload; rows before the malformed one were processed and are reported")
+    })
+    public ResponseEntity<BulkImportResultDTO> importPatients(
+            InputStream body,
+
+            @RequestHeader(HttpHeaders.CONTENT_TYPE) MediaType contentType
+    ) {
+        BulkImportResultDTO result = patientImportService.importPatients(body, contentType);
+        return ResponseEntity.status(result.error() != null ? HttpStatus.BAD_REQUEST : HttpStatus.OK).body(result);
     }
 
     @PutMapping("/{id}")
@@ -85,16 +310,48 @@ public class PatientController {
             @ApiResponse(responseCode = "200", description = "Patient updated successfully"),
             @ApiResponse(responseCode = "404", description = "Patient not found"),
             @ApiResponse(responseCode = "400", description = "Invalid input"),
-            @ApiResponse(responseCode = "409", description = "Email already exists")
+            @ApiResponse(responseCode = "409", description = "Email already exists"),
+            @ApiResponse(responseCode = "412", description = "Patient version does not match If-Match")
     })
     public ResponseEntity<PatientResponseDTO> updatePatient(
             @Parameter(description = "Patient ID", required = true)
             @PathVariable UUID id,
             
             @Parameter(description = "Updated patient data", required = true)
-            @Validated @RequestBody PatientRequestDTO patientRequestDTO
+            @Validated @RequestBody PatientRequestDTO patientRequestDTO,
+
+            @Parameter(description = "Quoted version the update is conditional on, e.g. \"3\"")
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
+
+            HttpServletRequest request
+    ) {
+        return withValidators(HttpStatus.OK,
+                patientService.updatePatient(id, patientRequestDTO, PatientETags.parseIfMatch(ifMatch)), request);
+    }
+
+    @PatchMapping("/{id}")
+    @Operation(summary = "Partially update an existing patient")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Patient updated successfully"),
+            @ApiResponse(responseCode = "404", description = "Patient not found"),
+            @ApiResponse(responseCode = "400", description = "Invalid input"),
+            @ApiResponse(responseCode = "409", description = "Email already exists"),
+            @ApiResponse(responseCode = "412", description = "Patient version does not match If-Match")
+    })
+    public ResponseEntity<PatientResponseDTO> patchPatient(
+            @Parameter(description = "Patient ID", required = true)
+            @PathVariable UUID id,
+
+            @Parameter(description = "Fields to change", required = true)
+            @Validated @RequestBody PatientPatchDTO patientPatchDTO,
+
+            @Parameter(description = "Quoted version the update is conditional on, e.g. \"3\"")
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
+
+            HttpServletRequest request
     ) {
-        return ResponseEntity.ok(patientService.updatePatient(id, patientRequestDTO));
+        return withValidators(HttpStatus.OK,
+                patientService.patchPatient(id, patientPatchDTO, PatientETags.parseIfMatch(ifMatch)), request);
     }
 
     @DeleteMapping("/{id}")
@@ -102,13 +359,107 @@ public class PatientController {
     @Operation(summary = "Delete a patient")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "204", description = "Patient deleted successfully"),
-            @ApiResponse(responseCode = "404", description = "Patient not found")
+            @ApiResponse(responseCode = "404", description = "Patient not found"),
+            @ApiResponse(responseCode = "412", description = "Patient version does not match If-Match")
     })
     public ResponseEntity<Void> deletePatient(
             @Parameter(description = "Patient ID", required = true)
-            @PathVariable UUID id
+            @PathVariable UUID id,
+
+            @Parameter(description = "Quoted version the delete is conditional on, e.g. \"3\"")
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch
     ) {
-        patientService.deletePatient(id);
+        patientService.deletePatient(id, PatientETags.parseIfMatch(ifMatch));
         return ResponseEntity.noContent().build();
     }
+
+    /**
+     * Serves a hot page as pre-serialized bytes, gzip-encoded when the client accepts it
+     */
+    private ResponseEntity<byte[]> cachedPage(Pageable pageable, HttpServletRequest request) {
+        PatientPageCache.CachedPage page = patientPageCache.get(pageable,
+                () -> patientService.getPatients(pageable),
+                content -> PatientETags.of(content.getContent(), content.getTotalElements()));
+        boolean gzip = page.gzip() != null && acceptsGzip(request.getHeader(HttpHeaders.ACCEPT_ENCODING));
+        String eTag = gzip ? PatientETags.gzipVariant(page.eTag()) : page.eTag();
+
+        if (PatientETags.isNotModified(request, eTag, -1)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+                    .eTag(eTag)
+                    .varyBy(HttpHeaders.ACCEPT, HttpHeaders.ACCEPT_ENCODING)
+                    .build();
+        }
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok()
+                .eTag(eTag)
+                .varyBy(HttpHeaders.ACCEPT, HttpHeaders.ACCEPT_ENCODING);
+        if (gzip) {
+            response.header(HttpHeaders.CONTENT_ENCODING, "gzip");
+        }
+        return response.contentType(MediaType.APPLICATION_JSON).body(gzip ? page.gzip() : page.json());
+    }
+
+    /**
+     * Representation Spring will pick for the Accept header among those this API produces:
+     * the most specific, highest-quality acceptable type, JSON when Accept is absent, or
+     * null when nothing is acceptable and the request will fail with 406
+     */
+    private static MediaType negotiatedType(HttpServletRequest request) {
+        String accept = request.getHeader(HttpHeaders.ACCEPT);
+        if (accept == null || accept.isBlank()) {
+            return MediaType.APPLICATION_JSON;
+        }
+        List<MediaType> mediaTypes;
+        try {
+            mediaTypes = new ArrayList<>(MediaType.parseMediaTypes(accept));
+            MimeTypeUtils.sortBySpecificity(mediaTypes);
+        } catch (InvalidMediaTypeException | InvalidMimeTypeException e) {
+            return null;
+        }
+        for (MediaType mediaType : mediaTypes) {
+            if (mediaType.getQualityValue() == 0) {
+                continue;
+            }
+            for (MediaType produced : PRODUCED_TYPES) {
+                if (mediaType.isCompatibleWith(produced)) {
+                    return produced;
+                }
+            }
+        }
+        return null;
+    }
+
+    private static boolean acceptsGzip(String acceptEncoding) {
+        if (acceptEncoding == null) {
+            return false;
+        }
+        for (String coding : acceptEncoding.split(",")) {
+            String[] parts = coding.trim().split(";");
+            if (parts[0].trim().equalsIgnoreCase("gzip")) {
+                return parts.length == 1 || !parts[1].replace(" ", "").matches("q=0(\\.0*)?");
+            }
+        }
+        return false;
+    }
+
+    private static ResponseEntity<PatientSliceDTO> sliceResponse(PatientSliceDTO slice, HttpServletRequest request) {
+        return ResponseEntity.ok()
+                .eTag(PatientETags.forRepresentation(PatientETags.of(slice.content(), slice.nextCursor()),
+                        negotiatedType(request)))
+                .varyBy(HttpHeaders.ACCEPT)
+                .body(slice);
+    }
+
+    private static ResponseEntity<PatientResponseDTO> withValidators(HttpStatus status, PatientResponseDTO patient,
+                                                                     HttpServletRequest request) {
+        return ResponseEntity.status(status)
+                .eTag(PatientETags.forRepresentation(PatientETags.of(patient.version()), negotiatedType(request)))
+                .lastModified(PatientETags.lastModified(patient))
+                .varyBy(HttpHeaders.ACCEPT)
+                .body(patient);
+    }
+
+    private ResponseEntity<StreamingResponseBody> streamPatients(PatientExportFormat format) {
+        StreamingResponseBody body = out -> patientExportService.exportPatients(format, out);
+        return ResponseEntity.ok().contentType(format.getMediaType()).body(body);
+    }
 }
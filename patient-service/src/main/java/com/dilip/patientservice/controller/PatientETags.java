@@ -0,0 +1,117 @@
+package com.dilip.patientservice.controller;
+
+import com.dilip.patientservice.dto.PatientResponseDTO;
+import jakarta.servlet.http.HttpServletRequest;
+import lombok.AccessLevel;
+import lombok.NoArgsConstructor;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.util.DigestUtils;
+import org.springframework.web.context.request.ServletWebRequest;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.Collection;
+
+/**
+ * Entity tags and validators for patient responses.
+ * A single patient is tagged with its version; a list is tagged with a digest of the
+ * ids and versions it contains, so either can be compared without serializing the body.
+ * JSON, CBOR and Smile bodies of the same content are different representations, so
+ * the binary ones carry the media subtype as a suffix.
+ */
+@NoArgsConstructor(access = AccessLevel.PRIVATE)
+final class PatientETags {
+
+    /**
+     * Strong entity tag of a single patient
+     */
+    static String of(Long version) {
+        return "\"" + version + "\"";
+    }
+
+    /**
+     * Weak entity tag of a list of patients and whatever else shapes the response, e.g. paging totals.
+     * Weak because the digest identifies the content, not the bytes: Tomcat refuses to compress
+     * responses with strong tags, and the same page compressed or not must still revalidate.
+     */
+    static String of(Collection<PatientResponseDTO> patients, Object... qualifiers) {
+        StringBuilder content = new StringBuilder(patients.size() * 40);
+        for (PatientResponseDTO patient : patients) {
+            content.append(patient.id()).append(':').append(patient.version()).append(';');
+        }
+        for (Object qualifier : qualifiers) {
+            content.append('|').append(qualifier);
+        }
+        return "W/\"" + DigestUtils.md5DigestAsHex(content.toString().getBytes(StandardCharsets.UTF_8)) + "\"";
+    }
+
+    /**
+     * Tag of the given representation; JSON keeps the plain tag
+     *
+     * @param mediaType negotiated response type, or null if none could be negotiated
+     */
+    static String forRepresentation(String eTag, MediaType mediaType) {
+        if (mediaType == null || MediaType.APPLICATION_JSON.equals(mediaType)) {
+            return eTag;
+        }
+        return eTag.substring(0, eTag.length() - 1) + "-" + mediaType.getSubtype() + "\"";
+    }
+
+    /**
+     * Last-Modified of a patient in epoch milliseconds
+     */
+    static long lastModified(PatientResponseDTO patient) {
+        return Instant.parse(patient.lastModified()).toEpochMilli();
+    }
+
+    /**
+     * Whether the request carries a validator that could turn it into a 304
+     */
+    static boolean isConditional(HttpServletRequest request) {
+        return request.getHeader(HttpHeaders.IF_NONE_MATCH) != null
+                || request.getHeader(HttpHeaders.IF_MODIFIED_SINCE) != null;
+    }
+
+    /**
+     * Evaluates If-None-Match and If-Modified-Since against the given validators.
+     * Unlike WebRequest#checkNotModified it leaves the response untouched, so the
+     * caller's ResponseEntity is the only source of validator headers.
+     */
+    static boolean isNotModified(HttpServletRequest request, String eTag, long lastModified) {
+        return new ServletWebRequest(request).checkNotModified(eTag, lastModified);
+    }
+
+    /**
+     * Tag of the gzip-encoded representation, which must differ from the identity one
+     */
+    static String gzipVariant(String eTag) {
+        return eTag.substring(0, eTag.length() - 1) + "-gzip\"";
+    }
+
+    /**
+     * Parses an If-Match header carrying a patient entity tag; "*" and absence mean no condition
+     *
+     * @throws IllegalArgumentException if the header is not a patient entity tag
+     */
+    static Long parseIfMatch(String ifMatch) {
+        if (ifMatch == null || ifMatch.isBlank() || ifMatch.trim().equals("*")) {
+            return null;
+        }
+        String tag = ifMatch.trim();
+        if (tag.startsWith("W/")) {
+            tag = tag.substring(2);
+        }
+        tag = tag.replace("\"", "");
+        // Tags of binary representations carry a media type suffix after the version
+        int suffix = tag.indexOf('-');
+        if (suffix > 0) {
+            tag = tag.substring(0, suffix);
+        }
+        try {
+            return Long.parseLong(tag);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("If-Match must be a quoted patient version");
+        }
+    }
+}
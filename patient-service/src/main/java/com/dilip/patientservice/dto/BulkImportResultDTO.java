@@ -0,0 +1,24 @@
+package com.dilip.patientservice.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.util.List;
+
+@Schema(description = "Report of a bulk patient import")
+public record BulkImportResultDTO(
+    @Schema(description = "Number of rows received")
+    int total,
+
+    @Schema(description = "Number of patients created")
+    int created,
+
+    @Schema(description = "Number of rows that were not created")
+    int rejected,
+
+    @Schema(description = "Per-row results in request order")
+    List<BulkImportRowResultDTO> rows,
+
+    @Schema(description = "Why reading stopped before the end of the payload, null if it was read completely; "
+            + "rows before the reported position were processed as listed")
+    String error
+) {}
@@ -0,0 +1,21 @@
+package com.dilip.patientservice.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+@Schema(description = "Result of importing a single patient row")
+public record BulkImportRowResultDTO(
+    @Schema(description = "Zero-based position of the row in the request")
+    int index,
+
+    @Schema(description = "Outcome of the row")
+    BulkImportStatus status,
+
+    @Schema(description = "Id of the created patient, null unless created")
+    String id,
+
+    @Schema(description = "Email of the row as submitted")
+    String email,
+
+    @Schema(description = "Reason the row was not created, null when created")
+    String error
+) {}
@@ -0,0 +1,11 @@
+package com.dilip.patientservice.dto;
+
+/**
+ * Outcome of a single row in a bulk patient import
+ */
+public enum BulkImportStatus {
+    CREATED,
+    INVALID,
+    DUPLICATE,
+    FAILED
+}
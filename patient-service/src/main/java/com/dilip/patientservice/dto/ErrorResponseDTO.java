@@ -0,0 +1,49 @@
+package com.dilip.patientservice.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import io.swagger.v3.oas.annotations.media.Schema;
+import org.springframework.http.HttpStatus;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+
+@Schema(description = "Error response")
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record ErrorResponseDTO(
+    @Schema(description = "When the error occurred, in server local time; absent on load-shedding responses",
+            example = "2024-01-15T10:30:00.123")
+    LocalDateTime timestamp,
+
+    @Schema(description = "HTTP status code", example = "404")
+    int status,
+
+    @Schema(description = "HTTP reason phrase", example = "Not Found")
+    String error,
+
+    @Schema(description = "What went wrong")
+    String message,
+
+    @Schema(description = "Field errors by field name, for validation failures")
+    Map<String, String> details
+) {
+    /**
+     * Error body without a timestamp, to be built once and stamped per response with {@link #at(LocalDateTime)}
+     */
+    public static ErrorResponseDTO of(HttpStatus status, String message) {
+        return new ErrorResponseDTO(null, status.value(), status.getReasonPhrase(), message, null);
+    }
+
+    /**
+     * Copy of this body stamped with the given time
+     */
+    public ErrorResponseDTO at(LocalDateTime timestamp) {
+        return new ErrorResponseDTO(timestamp, status, error, message, details);
+    }
+
+    /**
+     * Copy of this body with field errors
+     */
+    public ErrorResponseDTO withDetails(Map<String, String> details) {
+        return new ErrorResponseDTO(timestamp, status, error, message, details);
+    }
+}
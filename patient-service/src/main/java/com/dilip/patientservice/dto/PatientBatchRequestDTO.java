@@ -0,0 +1,15 @@
+package com.dilip.patientservice.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+
+import java.util.List;
+import java.util.UUID;
+
+@Schema(description = "Patient ids to resolve in one call")
+public record PatientBatchRequestDTO(
+    @Schema(description = "Patient ids, resolved in this order")
+    @NotEmpty(message = "At least one id is required")
+    List<@NotNull(message = "Ids cannot be null") UUID> ids
+) {}
@@ -0,0 +1,14 @@
+package com.dilip.patientservice.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.util.List;
+
+@Schema(description = "Patients resolved by id")
+public record PatientBatchResponseDTO(
+    @Schema(description = "Found patients, in the order their ids were requested")
+    List<PatientResponseDTO> patients,
+
+    @Schema(description = "Requested ids that do not exist, in request order")
+    List<String> missingIds
+) {}
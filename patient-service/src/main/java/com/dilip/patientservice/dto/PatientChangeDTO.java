@@ -0,0 +1,25 @@
+package com.dilip.patientservice.dto;
+
+import com.dilip.patientservice.model.PatientChangeType;
+import io.swagger.v3.oas.annotations.media.Schema;
+
+@Schema(description = "A single patient change from the change feed")
+public record PatientChangeDTO(
+    @Schema(description = "Position in the change feed; consumers resume after the last one they processed")
+    long position,
+
+    @Schema(description = "Patient's unique identifier")
+    String patientId,
+
+    @Schema(description = "Kind of change")
+    PatientChangeType type,
+
+    @Schema(description = "Patient version after the change, absent for unconditional deletes")
+    Long version,
+
+    @Schema(description = "Time the change was committed")
+    String occurredAt,
+
+    @Schema(description = "Patient after the change, absent for deletes")
+    PatientResponseDTO patient
+) {}
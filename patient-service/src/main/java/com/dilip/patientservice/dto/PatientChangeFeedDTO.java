@@ -0,0 +1,17 @@
+package com.dilip.patientservice.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.util.List;
+
+@Schema(description = "Page of the patient change feed")
+public record PatientChangeFeedDTO(
+    @Schema(description = "Changes in feed order")
+    List<PatientChangeDTO> changes,
+
+    @Schema(description = "Value to pass as since to fetch the following changes")
+    long nextSince,
+
+    @Schema(description = "Whether more changes are available right away")
+    boolean hasMore
+) {}
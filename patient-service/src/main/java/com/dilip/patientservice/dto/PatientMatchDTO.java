@@ -0,0 +1,18 @@
+package com.dilip.patientservice.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+@Schema(description = "Full-text lookup match")
+public record PatientMatchDTO(
+    @Schema(description = "Patient's unique identifier")
+    String id,
+
+    @Schema(description = "Patient's full name")
+    String name,
+
+    @Schema(description = "Patient's residential address")
+    String address,
+
+    @Schema(description = "Similarity to the query between 0 and 1, higher is better")
+    double score
+) {}
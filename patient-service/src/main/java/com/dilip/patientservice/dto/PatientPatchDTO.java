@@ -0,0 +1,28 @@
+package com.dilip.patientservice.dto;
+
+import jakarta.validation.constraints.Email;
+import jakarta.validation.constraints.Pattern;
+import jakarta.validation.constraints.Size;
+import lombok.Builder;
+
+/**
+ * Partial patient update; null fields are left unchanged
+ */
+@Builder
+public record PatientPatchDTO(
+    @Pattern(regexp = ".*\\S.*", message = "Name cannot be blank")
+    @Size(max = 100, message = "Name cannot exceed 100 characters")
+    String name,
+
+    @Email(message = "Email should be valid")
+    String email,
+
+    @Pattern(regexp = ".*\\S.*", message = "Address cannot be blank")
+    String address,
+
+    @Pattern(regexp = "\\d{4}-\\d{2}-\\d{2}", message = "Date of birth must be in format yyyy-MM-dd")
+    String dateOfBirth,
+
+    @Pattern(regexp = "\\d{4}-\\d{2}-\\d{2}", message = "Registered date must be in format yyyy-MM-dd")
+    String registeredDate
+) {}
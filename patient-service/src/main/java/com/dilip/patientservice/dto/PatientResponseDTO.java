@@ -22,5 +22,11 @@ public record PatientResponseDTO(
     String dateOfBirth,
     
     @Schema(description = "Date when patient was registered")
-    String registeredDate
+    String registeredDate,
+
+    @Schema(description = "Version of the patient record, incremented on every change")
+    Long version,
+
+    @Schema(description = "Time of the last change to the patient record")
+    String lastModified
 ) {}
@@ -0,0 +1,20 @@
+package com.dilip.patientservice.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.util.List;
+
+@Schema(description = "Keyset page of patients without a total count")
+public record PatientSliceDTO(
+    @Schema(description = "Patients in this page")
+    List<PatientResponseDTO> content,
+
+    @Schema(description = "Requested page size")
+    int size,
+
+    @Schema(description = "Whether more patients follow this page")
+    boolean hasNext,
+
+    @Schema(description = "Opaque token to pass as cursor for the next page, null on the last page")
+    String nextCursor
+) {}
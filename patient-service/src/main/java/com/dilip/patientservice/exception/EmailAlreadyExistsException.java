@@ -1,8 +1,11 @@
 package com.dilip.patientservice.exception;
 
+/**
+ * Email address is taken by another patient; a routine 409 that is cheaper without a stack trace
+ */
 public class EmailAlreadyExistsException extends RuntimeException {
 
     public EmailAlreadyExistsException(String message) {
-        super(message);
+        super(message, null, false, false);
     }
-}
\ No newline at end of file
+}
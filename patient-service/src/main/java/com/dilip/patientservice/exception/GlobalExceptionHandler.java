@@ -1,78 +1,116 @@
 package com.dilip.patientservice.exception;
 
+import com.dilip.patientservice.dto.ErrorResponseDTO;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.FieldError;
 import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
+import org.springframework.web.method.annotation.MethodArgumentTypeMismatchException;
 
+import java.time.Clock;
 import java.time.DateTimeException;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeParseException;
-import java.util.HashMap;
 import java.util.Map;
 import java.util.stream.Collectors;
 
 
+/**
+ * Maps exceptions to error bodies. Bodies with a fixed message are built once; their stamped
+ * copy is shared by all responses within the same millisecond.
+ */
 @RestControllerAdvice
 public class GlobalExceptionHandler {
 
     private static final Logger log = LoggerFactory.getLogger(GlobalExceptionHandler.class);
+    private static final Clock CLOCK = Clock.systemDefaultZone();
+
+    private static final StampedErrorResponse PATIENT_NOT_FOUND =
+            new StampedErrorResponse(ErrorResponseDTO.of(HttpStatus.NOT_FOUND, "Patient not found"));
+    private static final StampedErrorResponse EMAIL_EXISTS =
+            new StampedErrorResponse(ErrorResponseDTO.of(HttpStatus.CONFLICT, "Email address already exists"));
+    private static final StampedErrorResponse VERSION_MISMATCH =
+            new StampedErrorResponse(ErrorResponseDTO.of(HttpStatus.PRECONDITION_FAILED, "Patient has been modified since it was read"));
+    private static final StampedErrorResponse CONCURRENT_MODIFICATION =
+            new StampedErrorResponse(ErrorResponseDTO.of(HttpStatus.CONFLICT, "Patient was modified concurrently, retry the request"));
+    private static final ErrorResponseDTO VALIDATION_FAILED = ErrorResponseDTO.of(HttpStatus.BAD_REQUEST, "Validation failed");
+    private static final StampedErrorResponse INVALID_DATE =
+            new StampedErrorResponse(ErrorResponseDTO.of(HttpStatus.BAD_REQUEST, "Invalid date format. Dates must be in yyyy-MM-dd format"));
+    private static final StampedErrorResponse UNEXPECTED_ERROR =
+            new StampedErrorResponse(ErrorResponseDTO.of(HttpStatus.INTERNAL_SERVER_ERROR, "An unexpected error occurred"));
 
     @ExceptionHandler(PatientNotFoundException.class)
-    public ResponseEntity<Map<String, Object>> handlePatientNotFoundException(PatientNotFoundException ex) {
+    public ResponseEntity<ErrorResponseDTO> handlePatientNotFoundException(PatientNotFoundException ex) {
         log.warn("Patient not found: {}", ex.getMessage());
-        return createErrorResponse(HttpStatus.NOT_FOUND, "Patient not found");
+        return errorResponse(PATIENT_NOT_FOUND);
     }
 
     @ExceptionHandler(EmailAlreadyExistsException.class)
-    public ResponseEntity<Map<String, Object>> handleEmailAlreadyExistsException(EmailAlreadyExistsException ex) {
+    public ResponseEntity<ErrorResponseDTO> handleEmailAlreadyExistsException(EmailAlreadyExistsException ex) {
         log.warn("Email already exists: {}", ex.getMessage());
-        return createErrorResponse(HttpStatus.CONFLICT, "Email address already exists");
+        return errorResponse(EMAIL_EXISTS);
+    }
+
+    @ExceptionHandler(PatientVersionMismatchException.class)
+    public ResponseEntity<ErrorResponseDTO> handlePatientVersionMismatchException(PatientVersionMismatchException ex) {
+        log.warn("Patient version mismatch: {}", ex.getMessage());
+        return errorResponse(VERSION_MISMATCH);
+    }
+
+    @ExceptionHandler(OptimisticLockingFailureException.class)
+    public ResponseEntity<ErrorResponseDTO> handleOptimisticLockingFailureException(OptimisticLockingFailureException ex) {
+        log.warn("Concurrent patient modification: {}", ex.getMessage());
+        return errorResponse(CONCURRENT_MODIFICATION);
+    }
+
+    @ExceptionHandler(PatientChangesExpiredException.class)
+    public ResponseEntity<ErrorResponseDTO> handlePatientChangesExpiredException(PatientChangesExpiredException ex) {
+        log.warn("Expired change feed position: {}", ex.getMessage());
+        return errorResponse(ErrorResponseDTO.of(HttpStatus.GONE, ex.getMessage()));
     }
 
     @ExceptionHandler(MethodArgumentNotValidException.class)
-    public ResponseEntity<Map<String, Object>> handleValidationExceptions(MethodArgumentNotValidException ex) {
+    public ResponseEntity<ErrorResponseDTO> handleValidationExceptions(MethodArgumentNotValidException ex) {
         Map<String, String> errors = ex.getBindingResult().getFieldErrors().stream().collect(Collectors.toMap(FieldError::getField, fieldError -> fieldError.getDefaultMessage() != null ? fieldError.getDefaultMessage() : "Invalid value", (error1, error2) -> error1));
 
-        Map<String, Object> body = new HashMap<>();
-        body.put("timestamp", LocalDateTime.now());
-        body.put("status", HttpStatus.BAD_REQUEST.value());
-        body.put("error", HttpStatus.BAD_REQUEST.getReasonPhrase());
-        body.put("message", "Validation failed");
-        body.put("details", errors);
-
         log.warn("Validation error: {}", errors);
-        return new ResponseEntity<>(body, HttpStatus.BAD_REQUEST);
+        return errorResponse(VALIDATION_FAILED.withDetails(errors));
+    }
+
+    @ExceptionHandler(MethodArgumentTypeMismatchException.class)
+    public ResponseEntity<ErrorResponseDTO> handleMethodArgumentTypeMismatchException(MethodArgumentTypeMismatchException ex) {
+        log.warn("Invalid request parameter {}: {}", ex.getName(), ex.getValue());
+        return errorResponse(ErrorResponseDTO.of(HttpStatus.BAD_REQUEST, "Invalid value for parameter: " + ex.getName()));
     }
 
     @ExceptionHandler({DateTimeParseException.class, DateTimeException.class})
-    public ResponseEntity<Map<String, Object>> handleDateTimeException(Exception ex) {
+    public ResponseEntity<ErrorResponseDTO> handleDateTimeException(Exception ex) {
         log.warn("Date parsing error: {}", ex.getMessage());
-        return createErrorResponse(HttpStatus.BAD_REQUEST, "Invalid date format. Dates must be in yyyy-MM-dd format");
+        return errorResponse(INVALID_DATE);
     }
 
     @ExceptionHandler(IllegalArgumentException.class)
-    public ResponseEntity<Map<String, Object>> handleIllegalArgumentException(IllegalArgumentException ex) {
+    public ResponseEntity<ErrorResponseDTO> handleIllegalArgumentException(IllegalArgumentException ex) {
         log.warn("Invalid argument: {}", ex.getMessage());
-        return createErrorResponse(HttpStatus.BAD_REQUEST, ex.getMessage());
+        return errorResponse(ErrorResponseDTO.of(HttpStatus.BAD_REQUEST, ex.getMessage()));
     }
 
     @ExceptionHandler(Exception.class)
-    public ResponseEntity<Map<String, Object>> handleGenericException(Exception ex) {
+    public ResponseEntity<ErrorResponseDTO> handleGenericException(Exception ex) {
         log.error("Unhandled exception occurred", ex);
-        return createErrorResponse(HttpStatus.INTERNAL_SERVER_ERROR, "An unexpected error occurred");
+        return errorResponse(UNEXPECTED_ERROR);
+    }
+
+    private static ResponseEntity<ErrorResponseDTO> errorResponse(StampedErrorResponse body) {
+        return ResponseEntity.status(body.status()).body(body.body(CLOCK));
     }
 
-    private ResponseEntity<Map<String, Object>> createErrorResponse(HttpStatus status, String message) {
-        Map<String, Object> body = new HashMap<>();
-        body.put("timestamp", LocalDateTime.now());
-        body.put("status", status.value());
-        body.put("error", status.getReasonPhrase());
-        body.put("message", message);
-        return new ResponseEntity<>(body, status);
+    private static ResponseEntity<ErrorResponseDTO> errorResponse(ErrorResponseDTO body) {
+        return ResponseEntity.status(body.status()).body(body.at(LocalDateTime.now(CLOCK)));
     }
 }
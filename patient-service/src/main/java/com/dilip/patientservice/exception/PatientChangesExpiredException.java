@@ -0,0 +1,11 @@
+package com.dilip.patientservice.exception;
+
+/**
+ * Feed position is older than the retained change events, so resuming from it would skip changes.
+ * Thrown without a stack trace, like the other 4xx domain errors.
+ */
+public class PatientChangesExpiredException extends RuntimeException {
+    public PatientChangesExpiredException(String message) {
+        super(message, null, false, false);
+    }
+}
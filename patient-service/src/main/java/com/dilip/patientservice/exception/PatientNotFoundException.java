@@ -1,7 +1,10 @@
 package com.dilip.patientservice.exception;
 
+/**
+ * Requested patient doesn't exist. Reported as a 404 with its message only, so it skips the stack trace.
+ */
 public class PatientNotFoundException extends RuntimeException {
     public PatientNotFoundException(String message) {
-        super(message);
+        super(message, null, false, false);
     }
-}
\ No newline at end of file
+}
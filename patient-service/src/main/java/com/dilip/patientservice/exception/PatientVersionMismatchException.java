@@ -0,0 +1,10 @@
+package com.dilip.patientservice.exception;
+
+/**
+ * If-Match version no longer matches the stored patient. Thrown without a stack trace, like the other 4xx domain errors.
+ */
+public class PatientVersionMismatchException extends RuntimeException {
+    public PatientVersionMismatchException(String message) {
+        super(message, null, false, false);
+    }
+}
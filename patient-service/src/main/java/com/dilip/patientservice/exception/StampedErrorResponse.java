@@ -0,0 +1,41 @@
+package com.dilip.patientservice.exception;
+
+import com.dilip.patientservice.dto.ErrorResponseDTO;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.LocalDateTime;
+
+/**
+ * A fixed error body together with its most recently stamped copy. The copy is reused for
+ * every response within the same millisecond, so a burst of identical errors shares one body
+ * instead of allocating a record and a timestamp per response.
+ */
+final class StampedErrorResponse {
+    private final ErrorResponseDTO prototype;
+    private volatile Stamped current;
+
+    StampedErrorResponse(ErrorResponseDTO prototype) {
+        this.prototype = prototype;
+    }
+
+    /**
+     * The body stamped with the current time, truncated to milliseconds
+     */
+    ErrorResponseDTO body(Clock clock) {
+        long millis = clock.millis();
+        Stamped stamped = current;
+        if (stamped == null || stamped.millis() != millis) {
+            stamped = new Stamped(millis, prototype.at(LocalDateTime.ofInstant(Instant.ofEpochMilli(millis), clock.getZone())));
+            current = stamped;
+        }
+        return stamped.body();
+    }
+
+    int status() {
+        return prototype.status();
+    }
+
+    private record Stamped(long millis, ErrorResponseDTO body) {
+    }
+}
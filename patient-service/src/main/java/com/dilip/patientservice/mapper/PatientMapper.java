@@ -1,8 +1,10 @@
 package com.dilip.patientservice.mapper;
 
+import com.dilip.patientservice.dto.PatientPatchDTO;
 import com.dilip.patientservice.dto.PatientRequestDTO;
 import com.dilip.patientservice.dto.PatientResponseDTO;
 import com.dilip.patientservice.model.Patient;
+import com.dilip.patientservice.repository.PatientRow;
 import lombok.AccessLevel;
 import lombok.NoArgsConstructor;
 
@@ -27,9 +29,30 @@ public class PatientMapper {
                 .email(patient.getEmail())
                 .dateOfBirth(patient.getDateOfBirth().toString())
                 .registeredDate(patient.getRegisteredDate().toString())
+                .version(patient.getVersion())
+                .lastModified(patient.getLastModified().toString())
                 .build();
     }
 
+    /**
+     * Converts a PatientRow projection to PatientResponseDTO
+     *
+     * @param row the PatientRow to convert
+     * @return the PatientResponseDTO
+     */
+    public static PatientResponseDTO toDTO(PatientRow row) {
+        return new PatientResponseDTO(
+                row.id().toString(),
+                row.name(),
+                row.email(),
+                row.address(),
+                row.dateOfBirth().toString(),
+                row.registeredDate().toString(),
+                row.version(),
+                row.lastModified().toString()
+        );
+    }
+
     /**
      * Creates a new Patient entity from PatientRequestDTO
      * 
@@ -62,4 +85,36 @@ public class PatientMapper {
 
         return patient;
     }
+
+    /**
+     * Applies the non-null fields of a PatientPatchDTO to an existing Patient entity
+     *
+     * @param patient the Patient entity to update
+     * @param dto the PatientPatchDTO with changed fields
+     * @return updated Patient entity
+     */
+    public static Patient patchModel(Patient patient, PatientPatchDTO dto) {
+        if (dto.name() != null) {
+            patient.setName(dto.name());
+        }
+        if (dto.address() != null) {
+            patient.setAddress(dto.address());
+        }
+        if (dto.email() != null) {
+            patient.setEmail(dto.email());
+        }
+
+        try {
+            if (dto.dateOfBirth() != null) {
+                patient.setDateOfBirth(LocalDate.parse(dto.dateOfBirth()));
+            }
+            if (dto.registeredDate() != null) {
+                patient.setRegisteredDate(LocalDate.parse(dto.registeredDate()));
+            }
+        } catch (Exception e) {
+            throw new IllegalArgumentException("Error parsing date: " + e.getMessage(), e);
+        }
+
+        return patient;
+    }
 }
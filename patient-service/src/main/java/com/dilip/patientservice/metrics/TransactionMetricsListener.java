@@ -0,0 +1,40 @@
+package com.dilip.patientservice.metrics;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.TransactionExecution;
+import org.springframework.transaction.TransactionExecutionListener;
+
+/**
+ * Counts committed, rolled back and failed transactions, split by read-only flag.
+ * Registered with the transaction manager automatically as a TransactionExecutionListener bean.
+ */
+@Component
+public class TransactionMetricsListener implements TransactionExecutionListener {
+    private final MeterRegistry meterRegistry;
+
+    public TransactionMetricsListener(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    public void afterCommit(TransactionExecution transaction, @Nullable Throwable commitFailure) {
+        count(transaction, commitFailure == null ? "commit" : "commit_failure");
+    }
+
+    @Override
+    public void afterRollback(TransactionExecution transaction, @Nullable Throwable rollbackFailure) {
+        count(transaction, rollbackFailure == null ? "rollback" : "rollback_failure");
+    }
+
+    private void count(TransactionExecution transaction, String outcome) {
+        Counter.builder("patient.transactions")
+                .description("Completed transactions")
+                .tag("outcome", outcome)
+                .tag("read_only", Boolean.toString(transaction.isReadOnly()))
+                .register(meterRegistry)
+                .increment();
+    }
+}
@@ -6,17 +6,30 @@ import jakarta.validation.constraints.NotNull;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.DynamicUpdate;
 
+import java.time.Instant;
 import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
 import java.util.UUID;
 
 @Entity
+@Table(indexes = {
+        @Index(name = "idx_patient_name_id", columnList = "name, id"),
+        @Index(name = "idx_patient_name_lower_id", columnList = "name_lower, id"),
+        @Index(name = "idx_patient_date_of_birth_id", columnList = "date_of_birth, id"),
+        @Index(name = "idx_patient_registered_date_id", columnList = "registered_date, id")
+})
+@DynamicUpdate
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
 public class Patient {
+    /**
+     * Time-ordered, so inserts append to the primary key index; rows created before the switch keep random v4 ids
+     */
     @Id
-    @GeneratedValue(strategy = GenerationType.AUTO)
+    @TimeOrderedUuid
     private UUID id;
 
     @NotNull
@@ -36,4 +49,27 @@ public class Patient {
     @NotNull
     private LocalDate registeredDate;
 
+    @Version
+    private Long version;
+
+    /**
+     * Time of the last write, served as Last-Modified and refreshed on every insert and update
+     */
+    @NotNull
+    private Instant lastModified;
+
+    /**
+     * Lower-cased name, generated by the database and used for case-insensitive prefix search
+     */
+    @Column(insertable = false, updatable = false)
+    private String nameLower;
+
+    /**
+     * Sets lastModified to now, in milliseconds so the value survives a database round trip unchanged
+     */
+    @PrePersist
+    @PreUpdate
+    public void touch() {
+        lastModified = Instant.now().truncatedTo(ChronoUnit.MILLIS);
+    }
 }
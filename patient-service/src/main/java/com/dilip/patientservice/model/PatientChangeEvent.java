@@ -0,0 +1,67 @@
+package com.dilip.patientservice.model;
+
+import jakarta.persistence.*;
+import jakarta.validation.constraints.NotNull;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * Outbox row written in the same transaction as the patient change it describes.
+ * The relay later gives it a gap-free feed position and marks it published once
+ * the sink has accepted it.
+ */
+@Entity
+@Table(indexes = {
+        @Index(name = "idx_patient_change_event_position", columnList = "feed_position", unique = true),
+        @Index(name = "idx_patient_change_event_unpositioned",
+                columnList = "feed_position, patient_id, patient_version, id"),
+        @Index(name = "idx_patient_change_event_unpublished", columnList = "published_at, feed_position")
+})
+@Data
+@NoArgsConstructor
+public class PatientChangeEvent {
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "patient_change_event_seq")
+    @SequenceGenerator(name = "patient_change_event_seq", sequenceName = "patient_change_event_seq", allocationSize = 50)
+    private Long id;
+
+    @NotNull
+    private UUID patientId;
+
+    @NotNull
+    @Enumerated(EnumType.STRING)
+    private PatientChangeType changeType;
+
+    /**
+     * Patient version after the change; null for deletes that were not conditional
+     */
+    private Long patientVersion;
+
+    /**
+     * PatientResponseDTO as JSON after the change; null for deletes
+     */
+    @Column(length = 4000)
+    private String payload;
+
+    @NotNull
+    private Instant occurredAt;
+
+    /**
+     * Position in the change feed, assigned in commit order by the relay
+     */
+    private Long feedPosition;
+
+    private Instant publishedAt;
+
+    public PatientChangeEvent(UUID patientId, PatientChangeType changeType, Long patientVersion, String payload,
+                              Instant occurredAt) {
+        this.patientId = patientId;
+        this.changeType = changeType;
+        this.patientVersion = patientVersion;
+        this.payload = payload;
+        this.occurredAt = occurredAt;
+    }
+}
@@ -0,0 +1,10 @@
+package com.dilip.patientservice.model;
+
+/**
+ * Kind of write recorded in the patient change outbox
+ */
+public enum PatientChangeType {
+    CREATED,
+    UPDATED,
+    DELETED
+}
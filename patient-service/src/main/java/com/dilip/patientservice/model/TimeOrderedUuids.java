@@ -0,0 +1,47 @@
+package com.dilip.patientservice.model;
+
+import lombok.AccessLevel;
+import lombok.NoArgsConstructor;
+
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Time-ordered version 7 UUIDs (RFC 9562).
+ * <p>
+ * The top 48 bits are the Unix time in milliseconds, so new keys land at the right edge of a
+ * B-tree index instead of on a random leaf page. The 12 bits after the version carry a
+ * sequence within the millisecond, which makes the ids strictly increasing within this JVM
+ * even when the clock stalls or steps back; after 4096 ids in one millisecond the sequence
+ * carries into the timestamp, which runs slightly ahead until the clock catches up.
+ * <p>
+ * The remaining 62 bits are random so ids from several instances don't collide. They come
+ * from ThreadLocalRandom: patient ids identify records, they are not access tokens, and the
+ * timestamp prefix is public anyway.
+ */
+@NoArgsConstructor(access = AccessLevel.PRIVATE)
+public final class TimeOrderedUuids {
+    private static final int SEQUENCE_BITS = 12;
+    private static final long SEQUENCE_MASK = (1L << SEQUENCE_BITS) - 1;
+    private static final long VERSION_7 = 0x7000L;
+    private static final long VARIANT_RFC_9562 = 0x8000_0000_0000_0000L;
+    private static final long RANDOM_MASK = 0x3FFF_FFFF_FFFF_FFFFL;
+
+    /**
+     * Last issued (unix millis << 12 | sequence); advanced with CAS so generation never blocks
+     */
+    private static final AtomicLong LAST = new AtomicLong();
+
+    /**
+     * Returns the next id, greater than every id previously returned by this JVM
+     */
+    public static UUID next() {
+        long now = System.currentTimeMillis() << SEQUENCE_BITS;
+        long stamp = LAST.accumulateAndGet(now, (last, current) -> Math.max(current, last + 1));
+
+        long mostSigBits = (stamp >>> SEQUENCE_BITS) << 16 | VERSION_7 | (stamp & SEQUENCE_MASK);
+        long leastSigBits = ThreadLocalRandom.current().nextLong() & RANDOM_MASK | VARIANT_RFC_9562;
+        return new UUID(mostSigBits, leastSigBits);
+    }
+}
@@ -0,0 +1,55 @@
+package com.dilip.patientservice.outbox;
+
+import com.dilip.patientservice.dto.PatientChangeDTO;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+
+/**
+ * Local stand-in for a broker that appends each change as a line of NDJSON and
+ * forces the batch to disk before acknowledging it
+ */
+@Component
+@ConditionalOnProperty(name = "patient.outbox.sink", havingValue = "file")
+public class FilePatientChangeSink implements PatientChangeSink {
+    private final ObjectWriter changeWriter;
+    private final Path file;
+
+    public FilePatientChangeSink(ObjectMapper objectMapper,
+                                 @Value("${patient.outbox.file.path:patient-changes.ndjson}") Path file) {
+        this.changeWriter = objectMapper.writerFor(PatientChangeDTO.class);
+        this.file = file;
+    }
+
+    @Override
+    public void publish(List<PatientChangeDTO> changes) throws IOException {
+        ByteArrayOutputStream batch = new ByteArrayOutputStream(changes.size() * 256);
+        for (PatientChangeDTO change : changes) {
+            batch.write(changeWriter.writeValueAsBytes(change));
+            batch.write('\n');
+        }
+        Path parent = file.toAbsolutePath().getParent();
+        if (parent != null) {
+            Files.createDirectories(parent);
+        }
+        try (FileChannel channel = FileChannel.open(file,
+                StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND)) {
+            ByteBuffer buffer = ByteBuffer.wrap(batch.toByteArray());
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+            channel.force(false);
+        }
+    }
+}
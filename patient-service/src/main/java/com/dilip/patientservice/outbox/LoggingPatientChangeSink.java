@@ -0,0 +1,23 @@
+package com.dilip.patientservice.outbox;
+
+import com.dilip.patientservice.dto.PatientChangeDTO;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Default sink that only logs what would be published, for local runs without a broker
+ */
+@Component
+@ConditionalOnProperty(name = "patient.outbox.sink", havingValue = "log", matchIfMissing = true)
+@Slf4j
+public class LoggingPatientChangeSink implements PatientChangeSink {
+
+    @Override
+    public void publish(List<PatientChangeDTO> changes) {
+        log.debug("Published {} patient changes up to position {}", changes.size(),
+                changes.get(changes.size() - 1).position());
+    }
+}
@@ -0,0 +1,168 @@
+package com.dilip.patientservice.outbox;
+
+import com.dilip.patientservice.dto.PatientChangeDTO;
+import com.dilip.patientservice.model.PatientChangeEvent;
+import com.dilip.patientservice.repository.PatientChangeEventRepository;
+import com.dilip.patientservice.service.PatientChangeService;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Moves patient change events from the outbox table to the PatientChangeSink.
+ * <p>
+ * Every run first gives newly committed events the next feed positions, then publishes
+ * positioned events in batches. Positions are handed out in batches of one transaction each,
+ * always after the highest existing position and without gaps, and each patient's changes get
+ * them in version order. There is no commit order across patients: an event committed while a
+ * run works through a backlog can be positioned ahead of older events of other patients.
+ * The sink sets the pace: a batch is marked published only after the sink returns,
+ * and failures back off exponentially while events keep accumulating in the table.
+ * <p>
+ * Positions need a single writer. Run the relay on one instance and set
+ * {@code patient.outbox.relay.enabled=false} on the others. If two relays do run, the unique
+ * position index rejects the second one's batches instead of letting it hand out duplicates;
+ * each rejection is counted in {@code patient.outbox.position.failures} and retried on the
+ * next run, and the sink may see some changes twice. The flag is read at runtime rather than
+ * as a bean condition, so AOT-processed and native builds still honour it per instance.
+ */
+@Component
+@Lazy(false)
+@Slf4j
+public class PatientChangeRelay {
+    private static final int MAX_BACKOFF_SHIFT = 10;
+
+    private final PatientChangeEventRepository changeEventRepository;
+    private final PatientChangeService patientChangeService;
+    private final PatientChangeSink sink;
+    private final TransactionTemplate transactionTemplate;
+    private final TransactionTemplate readOnlyTransaction;
+    private final boolean enabled;
+    private final int batchSize;
+    private final long intervalMillis;
+    private final Duration maxBackoff;
+    private final Duration retention;
+    private final Counter published;
+    private final Counter publishFailures;
+    private final Counter positionFailures;
+
+    private int consecutiveFailures;
+    private long retryAtNanos = System.nanoTime();
+
+    public PatientChangeRelay(PatientChangeEventRepository changeEventRepository,
+                              PatientChangeService patientChangeService,
+                              PatientChangeSink sink,
+                              PlatformTransactionManager transactionManager,
+                              MeterRegistry meterRegistry,
+                              @Value("${patient.outbox.relay.enabled:true}") boolean enabled,
+                              @Value("${patient.outbox.relay.batch-size:500}") int batchSize,
+                              @Value("${patient.outbox.relay.interval-ms:500}") long intervalMillis,
+                              @Value("${patient.outbox.relay.max-backoff:1m}") Duration maxBackoff,
+                              @Value("${patient.outbox.retention:7d}") Duration retention) {
+        this.changeEventRepository = changeEventRepository;
+        this.patientChangeService = patientChangeService;
+        this.sink = sink;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.enabled = enabled;
+        this.batchSize = batchSize;
+        this.intervalMillis = intervalMillis;
+        this.maxBackoff = maxBackoff;
+        this.retention = retention;
+        this.published = Counter.builder("patient.outbox.published").register(meterRegistry);
+        this.publishFailures = Counter.builder("patient.outbox.publish.failures").register(meterRegistry);
+        this.positionFailures = Counter.builder("patient.outbox.position.failures").register(meterRegistry);
+    }
+
+    @Scheduled(fixedDelayString = "${patient.outbox.relay.interval-ms:500}")
+    public synchronized void relay() {
+        if (!enabled) {
+            return;
+        }
+        try {
+            while (assignPositions() == batchSize) {
+                // keep going until the backlog is positioned
+            }
+        } catch (Exception e) {
+            // Already positioned events can still be published; the rest wait for the next run
+            positionFailures.increment();
+            log.warn("Assigning patient change feed positions failed, retrying next run: {}", e.getMessage());
+        }
+        if (System.nanoTime() - retryAtNanos < 0) {
+            return;
+        }
+
+        try {
+            while (publishBatch() == batchSize) {
+                // keep going while the sink keeps up
+            }
+            consecutiveFailures = 0;
+        } catch (Exception e) {
+            publishFailures.increment();
+            consecutiveFailures++;
+            long backoffMillis = Math.min(maxBackoff.toMillis(),
+                    intervalMillis << Math.min(consecutiveFailures, MAX_BACKOFF_SHIFT));
+            retryAtNanos = System.nanoTime() + backoffMillis * 1_000_000;
+            log.warn("Publishing patient changes failed {} time(s) in a row, retrying in {} ms: {}",
+                    consecutiveFailures, backoffMillis, e.getMessage());
+        }
+    }
+
+    /**
+     * Drops published events that are older than the retention period
+     */
+    @Scheduled(fixedDelayString = "${patient.outbox.cleanup.interval-ms:3600000}")
+    public void purge() {
+        if (!enabled) {
+            return;
+        }
+        Instant cutoff = Instant.now().minus(retention);
+        Integer deleted = transactionTemplate.execute(status -> changeEventRepository.deletePublishedBefore(cutoff));
+        if (deleted != null && deleted > 0) {
+            log.info("Purged {} patient change events published before {}", deleted, cutoff);
+        }
+    }
+
+    private int assignPositions() {
+        Integer assigned = transactionTemplate.execute(status -> {
+            List<PatientChangeEvent> events = changeEventRepository.findUnpositioned(Limit.of(batchSize));
+            if (events.isEmpty()) {
+                return 0;
+            }
+            long position = changeEventRepository.findMaxFeedPosition();
+            for (PatientChangeEvent event : events) {
+                event.setFeedPosition(++position);
+            }
+            return events.size();
+        });
+        return assigned != null ? assigned : 0;
+    }
+
+    private int publishBatch() throws Exception {
+        List<PatientChangeEvent> events = readOnlyTransaction.execute(
+                status -> changeEventRepository.findUnpublished(Limit.of(batchSize)));
+        if (events == null || events.isEmpty()) {
+            return 0;
+        }
+
+        List<PatientChangeDTO> changes = patientChangeService.toDTOs(events);
+        sink.publish(changes);
+
+        List<Long> ids = events.stream().map(PatientChangeEvent::getId).toList();
+        transactionTemplate.executeWithoutResult(status -> changeEventRepository.markPublished(ids, Instant.now()));
+        published.increment(events.size());
+        return events.size();
+    }
+}
@@ -0,0 +1,23 @@
+package com.dilip.patientservice.outbox;
+
+import com.dilip.patientservice.dto.PatientChangeDTO;
+
+import java.util.List;
+
+/**
+ * Destination of relayed patient changes, e.g. a message broker.
+ * <p>
+ * Delivery is at least once: a batch is retried until {@link #publish} returns normally,
+ * and may be published again after a crash. Consumers deduplicate by position.
+ */
+public interface PatientChangeSink {
+
+    /**
+     * Publish a batch of changes in feed order. Returning normally acknowledges the whole
+     * batch; throwing leaves all of it pending for a retry.
+     *
+     * @param changes changes ordered by position, so per-patient order is preserved
+     * @throws Exception if the batch could not be delivered
+     */
+    void publish(List<PatientChangeDTO> changes) throws Exception;
+}
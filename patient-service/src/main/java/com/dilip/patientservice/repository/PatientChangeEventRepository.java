@@ -0,0 +1,57 @@
+package com.dilip.patientservice.repository;
+
+import com.dilip.patientservice.model.PatientChangeEvent;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface PatientChangeEventRepository extends JpaRepository<PatientChangeEvent, Long> {
+
+    /**
+     * Events that have not been given a feed position yet, each patient's in version order.
+     * Ids come from pooled sequence blocks, so on several instances a later change can have
+     * a lower id; versions are the only reliable order between changes of one patient.
+     * Conditional deletes carry the version after the one they deleted; unconditional deletes
+     * have no version. Either way they sort after every other change of the patient.
+     */
+    @Query("select e from PatientChangeEvent e where e.feedPosition is null "
+            + "order by e.patientId, e.patientVersion nulls last, e.id")
+    List<PatientChangeEvent> findUnpositioned(Limit limit);
+
+    @Query("select coalesce(max(e.feedPosition), 0) from PatientChangeEvent e")
+    long findMaxFeedPosition();
+
+    /**
+     * Positioned events the sink has not accepted yet, in feed order
+     */
+    @Query("select e from PatientChangeEvent e where e.publishedAt is null and e.feedPosition is not null "
+            + "order by e.feedPosition")
+    List<PatientChangeEvent> findUnpublished(Limit limit);
+
+    @Modifying
+    @Query("update PatientChangeEvent e set e.publishedAt = :publishedAt where e.id in :ids")
+    int markPublished(@Param("ids") Collection<Long> ids, @Param("publishedAt") Instant publishedAt);
+
+    /**
+     * Feed page strictly after the given position
+     */
+    @Query("select e from PatientChangeEvent e where e.feedPosition > :since order by e.feedPosition")
+    List<PatientChangeEvent> findFeedAfter(@Param("since") long since, Limit limit);
+
+    /**
+     * Deletes published events before the cutoff but always keeps the newest position,
+     * so positions never restart and consumers can tell that older ones were purged
+     */
+    @Modifying
+    @Query("delete from PatientChangeEvent e where e.publishedAt < :cutoff "
+            + "and e.feedPosition < (select max(f.feedPosition) from PatientChangeEvent f)")
+    int deletePublishedBefore(@Param("cutoff") Instant cutoff);
+}
@@ -1,12 +1,122 @@
 package com.dilip.patientservice.repository;
 
 import com.dilip.patientservice.model.Patient;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
 import java.util.UUID;
+import java.util.stream.Stream;
 
 @Repository
-public interface PatientRepository extends JpaRepository<Patient, UUID> {
+public interface PatientRepository extends JpaRepository<Patient, UUID>, PatientSearchRepository {
+    String SELECT_ROWS = "select new com.dilip.patientservice.repository.PatientRow("
+            + "p.id, p.name, p.email, p.address, p.dateOfBirth, p.registeredDate, p.version, p.lastModified) "
+            + "from Patient p";
+
     boolean existsByEmail(String email);
+
+    @Query("select p.version from Patient p where p.id = :id")
+    Optional<Long> findVersionById(@Param("id") UUID id);
+
+    /**
+     * Version and last modification time of a patient, for conditional requests without loading the row
+     */
+    @Query("select new com.dilip.patientservice.repository.PatientVersion(p.version, p.lastModified) "
+            + "from Patient p where p.id = :id")
+    Optional<PatientVersion> findPatientVersionById(@Param("id") UUID id);
+
+    /**
+     * Replaces every column of a patient in one statement if its version still matches
+     *
+     * @return number of rows updated, 0 if the patient is missing or the version changed
+     */
+    @Modifying
+    @Query("""
+            update Patient p
+            set p.name = :#{#patient.name}, p.email = :#{#patient.email}, p.address = :#{#patient.address},
+                p.dateOfBirth = :#{#patient.dateOfBirth}, p.registeredDate = :#{#patient.registeredDate},
+                p.lastModified = :#{#patient.lastModified}, p.version = p.version + 1
+            where p.id = :#{#patient.id} and p.version = :version
+            """)
+    int updateIfVersionMatches(@Param("patient") Patient patient, @Param("version") long version);
+
+    /**
+     * Deletes a patient in one statement without loading it first
+     *
+     * @return number of rows deleted
+     */
+    @Modifying
+    @Query("delete from Patient p where p.id = :id")
+    int deletePatientById(@Param("id") UUID id);
+
+    /**
+     * Deletes a patient in one statement if its version still matches
+     *
+     * @return number of rows deleted, 0 if the patient is missing or the version changed
+     */
+    @Modifying
+    @Query("delete from Patient p where p.id = :id and p.version = :version")
+    int deleteIfVersionMatches(@Param("id") UUID id, @Param("version") long version);
+
+    /**
+     * Returns which of the given emails are already taken, in a single IN query
+     */
+    @Query("select p.email from Patient p where p.email in :emails")
+    List<String> findExistingEmails(@Param("emails") Collection<String> emails);
+
+    /**
+     * Streams every patient as a PatientRow through a server-side cursor instead of materializing the table.
+     * Must be consumed inside a transaction and closed by the caller.
+     */
+    @Query(SELECT_ROWS)
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"),
+            @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "false")
+    })
+    Stream<PatientRow> streamAllRows();
+
+    /**
+     * Streams every stored email, used to warm up the in-memory email index
+     */
+    @Query("select p.email from Patient p")
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "5000"))
+    Stream<String> streamAllEmails();
+
+    /**
+     * Streams the indexed text fields of every patient, used to rebuild the full-text index
+     */
+    @Query("select new com.dilip.patientservice.repository.PatientTextRow(p.id, p.name, p.address) from Patient p")
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "5000"))
+    Stream<PatientTextRow> streamTextRows();
+
+    /**
+     * Page of patients as PatientRows; sorting from the Pageable applies to Patient attributes
+     */
+    @Query(value = SELECT_ROWS, countQuery = "select count(p) from Patient p")
+    Page<PatientRow> findAllRows(Pageable pageable);
+
+    /**
+     * First keyset page, ordered by (name, id)
+     */
+    @Query(SELECT_ROWS + " order by p.name, p.id")
+    List<PatientRow> findFirstRows(Limit limit);
+
+    /**
+     * Keyset page of patients strictly after the given (name, id) position.
+     * The leading {@code name >= :name} keeps the predicate sargable on idx_patient_name_id.
+     */
+    @Query(SELECT_ROWS + " where p.name >= :name and (p.name > :name or p.id > :id) order by p.name, p.id")
+    List<PatientRow> findRowsAfter(@Param("name") String name, @Param("id") UUID id, Limit limit);
 }
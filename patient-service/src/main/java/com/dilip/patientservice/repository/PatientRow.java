@@ -0,0 +1,15 @@
+package com.dilip.patientservice.repository;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.UUID;
+
+/**
+ * Flat read model of a patient, built by the query straight from the result set.
+ * Unlike a Patient entity it is never managed, so no entity instance, dirty-checking
+ * snapshot or persistence context entry is created per row.
+ */
+public record PatientRow(UUID id, String name, String email, String address,
+                         LocalDate dateOfBirth, LocalDate registeredDate, Long version,
+                         Instant lastModified) {
+}
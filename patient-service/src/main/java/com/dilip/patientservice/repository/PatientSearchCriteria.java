@@ -0,0 +1,38 @@
+package com.dilip.patientservice.repository;
+
+import java.time.LocalDate;
+
+/**
+ * Filters of a patient search; null fields are not applied
+ *
+ * @param namePrefix         case-insensitive name prefix
+ * @param email              exact email
+ * @param dateOfBirthFrom    inclusive lower bound of the date of birth
+ * @param dateOfBirthTo      inclusive upper bound of the date of birth
+ * @param registeredDateFrom inclusive lower bound of the registration date
+ * @param registeredDateTo   inclusive upper bound of the registration date
+ */
+public record PatientSearchCriteria(
+        String namePrefix,
+        String email,
+        LocalDate dateOfBirthFrom,
+        LocalDate dateOfBirthTo,
+        LocalDate registeredDateFrom,
+        LocalDate registeredDateTo
+) {
+
+    /**
+     * Picks the keyset ordering whose index also serves the most selective range filter
+     *
+     * @return sort key for this search
+     */
+    public PatientSearchSortKey sortKey() {
+        if (namePrefix == null && (dateOfBirthFrom != null || dateOfBirthTo != null)) {
+            return PatientSearchSortKey.DATE_OF_BIRTH;
+        }
+        if (namePrefix == null && (registeredDateFrom != null || registeredDateTo != null)) {
+            return PatientSearchSortKey.REGISTERED_DATE;
+        }
+        return PatientSearchSortKey.NAME;
+    }
+}
@@ -0,0 +1,23 @@
+package com.dilip.patientservice.repository;
+
+import com.dilip.patientservice.model.Patient;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Dynamic patient search with keyset paging
+ */
+public interface PatientSearchRepository {
+
+    /**
+     * Find patients matching the criteria, ordered by the criteria's sort key and id
+     *
+     * @param criteria filters to apply
+     * @param afterKey sort key of the last patient of the previous page, or null for the first page
+     * @param afterId  id of the last patient of the previous page, or null for the first page
+     * @param limit    maximum number of patients to return
+     * @return matching patients
+     */
+    List<Patient> search(PatientSearchCriteria criteria, String afterKey, UUID afterId, int limit);
+}
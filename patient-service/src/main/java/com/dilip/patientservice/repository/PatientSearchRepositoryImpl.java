@@ -0,0 +1,83 @@
+package com.dilip.patientservice.repository;
+
+import com.dilip.patientservice.model.Patient;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import lombok.RequiredArgsConstructor;
+import org.hibernate.jpa.HibernateHints;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.UUID;
+
+@RequiredArgsConstructor
+public class PatientSearchRepositoryImpl implements PatientSearchRepository {
+    private static final char LIKE_ESCAPE = '\\';
+
+    private final EntityManager entityManager;
+
+    @Override
+    public List<Patient> search(PatientSearchCriteria criteria, String afterKey, UUID afterId, int limit) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Patient> query = cb.createQuery(Patient.class);
+        Root<Patient> patient = query.from(Patient.class);
+        List<Predicate> predicates = new ArrayList<>();
+
+        if (criteria.namePrefix() != null) {
+            String prefix = escapeLike(criteria.namePrefix().toLowerCase(Locale.ROOT));
+            predicates.add(cb.like(patient.get("nameLower"), prefix + "%", LIKE_ESCAPE));
+        }
+        if (criteria.email() != null) {
+            predicates.add(cb.equal(patient.get("email"), criteria.email()));
+        }
+        addRange(cb, predicates, patient.get("dateOfBirth"), criteria.dateOfBirthFrom(), criteria.dateOfBirthTo());
+        addRange(cb, predicates, patient.get("registeredDate"), criteria.registeredDateFrom(), criteria.registeredDateTo());
+
+        PatientSearchSortKey sortKey = criteria.sortKey();
+        Path<UUID> id = patient.get("id");
+        if (afterKey != null && afterId != null) {
+            predicates.add(sortKey == PatientSearchSortKey.NAME
+                    ? after(cb, patient.get(sortKey.getAttribute()), afterKey, id, afterId)
+                    : after(cb, patient.get(sortKey.getAttribute()), LocalDate.parse(afterKey), id, afterId));
+        }
+
+        query.select(patient)
+                .where(predicates.toArray(Predicate[]::new))
+                .orderBy(cb.asc(patient.get(sortKey.getAttribute())), cb.asc(id));
+        return entityManager.createQuery(query)
+                .setMaxResults(limit)
+                .setHint(HibernateHints.HINT_READ_ONLY, true)
+                .getResultList();
+    }
+
+    private static void addRange(CriteriaBuilder cb, List<Predicate> predicates, Path<LocalDate> path,
+                                 LocalDate from, LocalDate to) {
+        if (from != null) {
+            predicates.add(cb.greaterThanOrEqualTo(path, from));
+        }
+        if (to != null) {
+            predicates.add(cb.lessThanOrEqualTo(path, to));
+        }
+    }
+
+    /**
+     * Index-friendly form of (key, id) > (afterKey, afterId)
+     */
+    private static <Y extends Comparable<? super Y>> Predicate after(CriteriaBuilder cb, Path<Y> key, Y afterKey,
+                                                                     Path<UUID> id, UUID afterId) {
+        return cb.and(
+                cb.greaterThanOrEqualTo(key, afterKey),
+                cb.or(cb.greaterThan(key, afterKey), cb.greaterThan(id, afterId))
+        );
+    }
+
+    private static String escapeLike(String value) {
+        return value.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
+    }
+}
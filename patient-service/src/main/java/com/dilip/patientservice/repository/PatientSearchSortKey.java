@@ -0,0 +1,36 @@
+package com.dilip.patientservice.repository;
+
+import com.dilip.patientservice.model.Patient;
+
+/**
+ * Keyset orderings of the patient search, each backed by a (column, id) index
+ */
+public enum PatientSearchSortKey {
+    NAME("nameLower"),
+    DATE_OF_BIRTH("dateOfBirth"),
+    REGISTERED_DATE("registeredDate");
+
+    private final String attribute;
+
+    PatientSearchSortKey(String attribute) {
+        this.attribute = attribute;
+    }
+
+    public String getAttribute() {
+        return attribute;
+    }
+
+    /**
+     * Sort key value of a patient, as stored in a continuation cursor
+     *
+     * @param patient patient loaded from the database
+     * @return string form of the sort key
+     */
+    public String keyOf(Patient patient) {
+        return switch (this) {
+            case NAME -> patient.getNameLower();
+            case DATE_OF_BIRTH -> patient.getDateOfBirth().toString();
+            case REGISTERED_DATE -> patient.getRegisteredDate().toString();
+        };
+    }
+}
@@ -0,0 +1,9 @@
+package com.dilip.patientservice.repository;
+
+import java.util.UUID;
+
+/**
+ * Fields of a patient needed to build the full-text index
+ */
+public record PatientTextRow(UUID id, String name, String address) {
+}
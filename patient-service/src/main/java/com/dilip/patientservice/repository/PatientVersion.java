@@ -0,0 +1,9 @@
+package com.dilip.patientservice.repository;
+
+import java.time.Instant;
+
+/**
+ * Version and last modification time of a patient, enough to answer a conditional request
+ */
+public record PatientVersion(Long version, Instant lastModified) {
+}
@@ -0,0 +1,163 @@
+package com.dilip.patientservice.search;
+
+import com.dilip.patientservice.dto.PatientMatchDTO;
+import com.dilip.patientservice.repository.PatientRepository;
+import com.dilip.patientservice.repository.PatientTextRow;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+/**
+ * Embedded fuzzy full-text lookup over patient name and address.
+ * <p>
+ * Rebuilt from the database at startup, tokenizing batches in parallel, and kept in sync
+ * incrementally by the write paths. Changes are applied after the surrounding transaction
+ * commits, so rolled back writes never become searchable.
+ */
+@Component
+@Slf4j
+public class PatientTextIndex {
+    private static final int REBUILD_BATCH_SIZE = 10_000;
+
+    private final PatientRepository patientRepository;
+    private final TransactionTemplate readOnlyTransaction;
+    private final double minScore;
+    private final int maxResults;
+    private final Set<UUID> removedDuringRebuild = ConcurrentHashMap.newKeySet();
+
+    private volatile TrigramIndex active = new TrigramIndex();
+    private volatile TrigramIndex building;
+
+    public PatientTextIndex(PatientRepository patientRepository,
+                            PlatformTransactionManager transactionManager,
+                            @Value("${patient.text-index.min-score:0.3}") double minScore,
+                            @Value("${patient.text-index.max-results:50}") int maxResults) {
+        this.patientRepository = patientRepository;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.minScore = minScore;
+        this.maxResults = maxResults;
+    }
+
+    /**
+     * Builds a fresh index from the database and swaps it in. Writes that happen
+     * meanwhile go to both the current and the new index.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        long start = System.nanoTime();
+        TrigramIndex index = new TrigramIndex();
+        building = index;
+        List<CompletableFuture<List<TrigramIndex.Document>>> batches = new ArrayList<>();
+        readOnlyTransaction.executeWithoutResult(status -> {
+            try (Stream<PatientTextRow> rows = patientRepository.streamTextRows()) {
+                List<PatientTextRow> batch = new ArrayList<>(REBUILD_BATCH_SIZE);
+                for (PatientTextRow row : (Iterable<PatientTextRow>) rows::iterator) {
+                    batch.add(row);
+                    if (batch.size() == REBUILD_BATCH_SIZE) {
+                        batches.add(tokenize(batch));
+                        batch = new ArrayList<>(REBUILD_BATCH_SIZE);
+                    }
+                }
+                if (!batch.isEmpty()) {
+                    batches.add(tokenize(batch));
+                }
+            }
+        });
+
+        for (CompletableFuture<List<TrigramIndex.Document>> batch : batches) {
+            // Documents written after the rebuild started are already in the index and newer
+            batch.join().forEach(document -> addIfAbsent(index, document));
+        }
+        active = index;
+        building = null;
+        removedDuringRebuild.clear();
+        log.info("Full-text index rebuilt with {} patients in {} ms", index.size(), (System.nanoTime() - start) / 1_000_000);
+    }
+
+    /**
+     * Ranked, typo-tolerant lookup by name or address
+     *
+     * @param query free text
+     * @param limit maximum number of matches, capped by patient.text-index.max-results
+     * @return matches ordered by descending score
+     */
+    public List<PatientMatchDTO> search(String query, int limit) {
+        return active.search(query, Math.min(Math.max(limit, 1), maxResults), minScore).stream()
+                .map(match -> new PatientMatchDTO(match.id().toString(), match.name(), match.address(), match.score()))
+                .toList();
+    }
+
+    /**
+     * Index a created or updated patient once the current transaction commits
+     */
+    public void index(UUID id, String name, String address) {
+        afterCommit(() -> {
+            TrigramIndex.Document document = TrigramIndex.prepare(id, name, address);
+            apply(index -> index.add(document));
+        });
+    }
+
+    /**
+     * Drop a deleted patient once the current transaction commits
+     */
+    public void remove(UUID id) {
+        afterCommit(() -> {
+            if (building != null) {
+                removedDuringRebuild.add(id);
+            }
+            apply(index -> index.remove(id));
+        });
+    }
+
+    private CompletableFuture<List<TrigramIndex.Document>> tokenize(List<PatientTextRow> rows) {
+        return CompletableFuture.supplyAsync(() -> rows.stream()
+                .map(row -> TrigramIndex.prepare(row.id(), row.name(), row.address()))
+                .toList(), ForkJoinPool.commonPool());
+    }
+
+    /**
+     * remove() records the id before it touches the index, so checking the set under the
+     * index lock either sees the removal or runs before it
+     */
+    private void addIfAbsent(TrigramIndex index, TrigramIndex.Document document) {
+        index.addIfAbsent(document, removedDuringRebuild::contains);
+    }
+
+    private void apply(Consumer<TrigramIndex> change) {
+        TrigramIndex pending = building;
+        if (pending != null) {
+            change.accept(pending);
+        }
+        change.accept(active);
+    }
+
+    private static void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+}
@@ -0,0 +1,296 @@
+package com.dilip.patientservice.search;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Predicate;
+import java.util.regex.Pattern;
+
+/**
+ * Inverted trigram index over patient name and address.
+ * <p>
+ * Every word is padded like pg_trgm ("  word ") and split into trigrams; each field keeps its
+ * own posting lists from trigram to internal document number. A query is scored per field by
+ * how many of its distinct trigrams the field shares, blended with the Dice coefficient so
+ * shorter, closer fields rank first. This tolerates typos and partial words.
+ * Removed documents are tombstoned and their postings dropped on the next compaction.
+ */
+class TrigramIndex {
+    private static final Pattern DIACRITICS = Pattern.compile("\\p{M}+");
+    private static final Pattern NON_ALPHANUMERIC = Pattern.compile("[^\\p{Alnum}]+");
+    private static final double ADDRESS_WEIGHT = 0.8;
+    private static final double COVERAGE_WEIGHT = 0.7;
+    private static final int FREQUENT_POSTINGS_MIN = 1024;
+    private static final int FREQUENT_POSTINGS_DIVISOR = 50;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<UUID, Integer> docNumbers = new HashMap<>();
+    private final List<Document> documents = new ArrayList<>();
+    private final Map<Long, Postings> namePostings = new HashMap<>();
+    private final Map<Long, Postings> addressPostings = new HashMap<>();
+    private final Queue<Scratch> scratchPool = new ConcurrentLinkedQueue<>();
+    private int tombstones;
+
+    /**
+     * Tokenized patient ready to be added; cheap to build concurrently outside the lock
+     */
+    record Document(UUID id, String name, String address, long[] nameGrams, long[] addressGrams) {
+    }
+
+    record Match(UUID id, String name, String address, double score) {
+    }
+
+    static Document prepare(UUID id, String name, String address) {
+        return new Document(id, name, address, trigrams(name), trigrams(address));
+    }
+
+    void add(Document document) {
+        lock.writeLock().lock();
+        try {
+            removeLocked(document.id());
+            addLocked(document);
+            compactIfSparse();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Adds the document unless its patient is already indexed or excluded. Both checks run
+     * under the write lock, so a concurrent add or remove cannot slip in between.
+     *
+     * @return whether the document was added
+     */
+    boolean addIfAbsent(Document document, Predicate<UUID> excluded) {
+        lock.writeLock().lock();
+        try {
+            if (docNumbers.containsKey(document.id()) || excluded.test(document.id())) {
+                return false;
+            }
+            addLocked(document);
+            return true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    void remove(UUID id) {
+        lock.writeLock().lock();
+        try {
+            removeLocked(id);
+            compactIfSparse();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    int size() {
+        lock.readLock().lock();
+        try {
+            return docNumbers.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    List<Match> search(String query, int limit, double minScore) {
+        long[] queryGrams = trigrams(query);
+        if (queryGrams.length == 0) {
+            return List.of();
+        }
+
+        lock.readLock().lock();
+        Scratch scratch = borrowScratch(documents.size());
+        try {
+            Map<Integer, Double> scores = new HashMap<>();
+            score(scores, scratch, namePostings, queryGrams, true, 1.0, minScore);
+            score(scores, scratch, addressPostings, queryGrams, false, ADDRESS_WEIGHT, minScore);
+
+            return scores.entrySet().stream()
+                    .sorted(Map.Entry.<Integer, Double>comparingByValue().reversed())
+                    .limit(limit)
+                    .map(entry -> {
+                        Document document = documents.get(entry.getKey());
+                        return new Match(document.id(), document.name(), document.address(), entry.getValue());
+                    })
+                    .toList();
+        } finally {
+            scratchPool.offer(scratch);
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Counts shared trigrams per document in a dense array, then keeps only documents whose
+     * weighted score reaches the threshold. When documents matching only the frequent query
+     * trigrams cannot reach the threshold, only the selective trigrams are scanned and the
+     * frequent ones are checked per candidate by binary search in their sorted postings.
+     */
+    private void score(Map<Integer, Double> scores, Scratch scratch, Map<Long, Postings> postings, long[] queryGrams,
+                       boolean nameField, double weight, double minScore) {
+        int frequentThreshold = Math.max(FREQUENT_POSTINGS_MIN, documents.size() / FREQUENT_POSTINGS_DIVISOR);
+        List<Postings> selective = new ArrayList<>(queryGrams.length);
+        List<Postings> frequent = new ArrayList<>();
+        for (long gram : queryGrams) {
+            Postings list = postings.get(gram);
+            if (list != null) {
+                (list.size > frequentThreshold ? frequent : selective).add(list);
+            }
+        }
+        if (!frequent.isEmpty() && weightedScore(weight, frequent.size(), queryGrams.length, frequent.size()) >= minScore) {
+            selective.addAll(frequent);
+            frequent.clear();
+        }
+
+        int[] counts = scratch.counts;
+        Postings touched = scratch.touched;
+        touched.size = 0;
+        for (Postings list : selective) {
+            for (int i = 0; i < list.size; i++) {
+                int docNumber = list.docs[i];
+                if (counts[docNumber]++ == 0) {
+                    touched.add(docNumber);
+                }
+            }
+        }
+
+        for (int i = 0; i < touched.size; i++) {
+            int docNumber = touched.docs[i];
+            int shared = counts[docNumber];
+            counts[docNumber] = 0;
+            Document document = documents.get(docNumber);
+            if (document == null) {
+                continue;
+            }
+            for (Postings list : frequent) {
+                if (Arrays.binarySearch(list.docs, 0, list.size, docNumber) >= 0) {
+                    shared++;
+                }
+            }
+            int docGrams = nameField ? document.nameGrams().length : document.addressGrams().length;
+            double score = weightedScore(weight, shared, queryGrams.length, docGrams);
+            if (score >= minScore) {
+                scores.merge(docNumber, score, Math::max);
+            }
+        }
+    }
+
+    /**
+     * Query coverage blended with the Dice coefficient. With docGrams equal to shared it is
+     * the upper bound for any field sharing that many trigrams.
+     */
+    private static double weightedScore(double weight, int shared, int queryGrams, int docGrams) {
+        double coverage = (double) shared / queryGrams;
+        double dice = 2.0 * shared / (queryGrams + docGrams);
+        return weight * (COVERAGE_WEIGHT * coverage + (1 - COVERAGE_WEIGHT) * dice);
+    }
+
+    /**
+     * Reuses per-query counting arrays instead of allocating one per search;
+     * callers hold the read lock, so the document count cannot grow meanwhile
+     */
+    private Scratch borrowScratch(int documentCount) {
+        Scratch scratch = scratchPool.poll();
+        if (scratch == null || scratch.counts.length < documentCount) {
+            scratch = new Scratch(new int[Math.max(documentCount, 16) + documentCount / 4], new Postings());
+        }
+        return scratch;
+    }
+
+    private void addLocked(Document document) {
+        int docNumber = documents.size();
+        documents.add(document);
+        docNumbers.put(document.id(), docNumber);
+        addPostings(namePostings, document.nameGrams(), docNumber);
+        addPostings(addressPostings, document.addressGrams(), docNumber);
+    }
+
+    private void removeLocked(UUID id) {
+        Integer docNumber = docNumbers.remove(id);
+        if (docNumber != null) {
+            documents.set(docNumber, null);
+            tombstones++;
+        }
+    }
+
+    /**
+     * Compacts once tombstones outnumber live documents. Updates tombstone the old copy
+     * just like removals, so both write paths check.
+     */
+    private void compactIfSparse() {
+        if (tombstones > 1024 && tombstones > docNumbers.size()) {
+            compact();
+        }
+    }
+
+    /**
+     * Renumbers live documents and rebuilds the postings without tombstones
+     */
+    private void compact() {
+        List<Document> live = documents.stream().filter(document -> document != null).toList();
+        documents.clear();
+        docNumbers.clear();
+        namePostings.clear();
+        addressPostings.clear();
+        tombstones = 0;
+        live.forEach(this::addLocked);
+    }
+
+    private static void addPostings(Map<Long, Postings> postings, long[] grams, int docNumber) {
+        for (long gram : grams) {
+            postings.computeIfAbsent(gram, key -> new Postings()).add(docNumber);
+        }
+    }
+
+    /**
+     * Distinct padded trigrams of the normalized text, each packed into a long
+     */
+    static long[] trigrams(String text) {
+        if (text == null) {
+            return new long[0];
+        }
+        String normalized = DIACRITICS.matcher(Normalizer.normalize(text, Normalizer.Form.NFD)).replaceAll("");
+        normalized = NON_ALPHANUMERIC.matcher(normalized.toLowerCase(Locale.ROOT)).replaceAll(" ").trim();
+        if (normalized.isEmpty()) {
+            return new long[0];
+        }
+
+        Set<Long> grams = new LinkedHashSet<>();
+        for (String word : normalized.split(" ")) {
+            String padded = "  " + word + " ";
+            for (int i = 0; i + 3 <= padded.length(); i++) {
+                grams.add(((long) padded.charAt(i) << 32) | ((long) padded.charAt(i + 1) << 16) | padded.charAt(i + 2));
+            }
+        }
+        return grams.stream().mapToLong(Long::longValue).toArray();
+    }
+
+    private record Scratch(int[] counts, Postings touched) {
+    }
+
+    /**
+     * Growable list of document numbers
+     */
+    private static final class Postings {
+        private int[] docs = new int[4];
+        private int size;
+
+        void add(int docNumber) {
+            if (size == docs.length) {
+                docs = Arrays.copyOf(docs, size * 2);
+            }
+            docs[size++] = docNumber;
+        }
+    }
+}
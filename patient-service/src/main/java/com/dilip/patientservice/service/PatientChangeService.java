@@ -0,0 +1,152 @@
+package com.dilip.patientservice.service;
+
+import com.dilip.patientservice.dto.PatientChangeDTO;
+import com.dilip.patientservice.dto.PatientChangeFeedDTO;
+import com.dilip.patientservice.dto.PatientResponseDTO;
+import com.dilip.patientservice.exception.PatientChangesExpiredException;
+import com.dilip.patientservice.model.PatientChangeEvent;
+import com.dilip.patientservice.model.PatientChangeType;
+import com.dilip.patientservice.repository.PatientChangeEventRepository;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import io.micrometer.observation.annotation.Observed;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Records patient changes in the outbox table and serves them as an incremental feed.
+ * Recording joins the caller's transaction, so a change event exists if and only if
+ * the patient write it describes committed.
+ */
+@Service
+@Observed(name = "patient.service")
+@Slf4j
+public class PatientChangeService {
+    public static final int MAX_FEED_SIZE = 1000;
+
+    private final PatientChangeEventRepository changeEventRepository;
+    private final ObjectWriter payloadWriter;
+    private final ObjectReader payloadReader;
+
+    public PatientChangeService(PatientChangeEventRepository changeEventRepository, ObjectMapper objectMapper) {
+        this.changeEventRepository = changeEventRepository;
+        this.payloadWriter = objectMapper.writerFor(PatientResponseDTO.class);
+        this.payloadReader = objectMapper.readerFor(PatientResponseDTO.class);
+    }
+
+    /**
+     * Record a created or updated patient in the current transaction
+     *
+     * @param type    CREATED or UPDATED
+     * @param patient patient after the change
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void recordChange(PatientChangeType type, PatientResponseDTO patient) {
+        changeEventRepository.save(toEvent(type, patient, Instant.now().truncatedTo(ChronoUnit.MILLIS)));
+    }
+
+    /**
+     * Record many created or updated patients in the current transaction with batched inserts
+     *
+     * @param type     CREATED or UPDATED
+     * @param patients patients after the change
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void recordChanges(PatientChangeType type, Collection<PatientResponseDTO> patients) {
+        Instant now = Instant.now().truncatedTo(ChronoUnit.MILLIS);
+        List<PatientChangeEvent> events = new ArrayList<>(patients.size());
+        for (PatientResponseDTO patient : patients) {
+            events.add(toEvent(type, patient, now));
+        }
+        changeEventRepository.saveAll(events);
+    }
+
+    /**
+     * Record a deleted patient in the current transaction
+     *
+     * @param id      patient ID
+     * @param version version after the deleted one, so the deletion sorts after the change that produced it;
+     *                null if the delete was unconditional
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void recordDeletion(UUID id, Long version) {
+        changeEventRepository.save(new PatientChangeEvent(id, PatientChangeType.DELETED, version, null,
+                Instant.now().truncatedTo(ChronoUnit.MILLIS)));
+    }
+
+    /**
+     * Get the changes after a feed position. Positions are gap-free and new ones are only ever
+     * appended after the highest existing one, so resuming from the last seen position never
+     * skips a change while it is retained.
+     *
+     * @param since last position the consumer processed, 0 to start from the oldest retained change
+     * @param limit requested number of changes, clamped to [1, MAX_FEED_SIZE]
+     * @return PatientChangeFeedDTO with the changes and the position to resume from
+     * @throws IllegalArgumentException       if since is negative
+     * @throws PatientChangesExpiredException if changes right after since have already been purged
+     */
+    @Transactional(readOnly = true)
+    public PatientChangeFeedDTO getChanges(long since, int limit) {
+        if (since < 0) {
+            throw new IllegalArgumentException("since must not be negative");
+        }
+        int pageSize = Math.min(Math.max(limit, 1), MAX_FEED_SIZE);
+        List<PatientChangeEvent> events = changeEventRepository.findFeedAfter(since, Limit.of(pageSize + 1));
+        boolean hasMore = events.size() > pageSize;
+        List<PatientChangeEvent> page = hasMore ? events.subList(0, pageSize) : events;
+        // Positions have no gaps, so a jump past since + 1 means the retention purge got there first
+        if (since > 0 && !page.isEmpty() && page.get(0).getFeedPosition() > since + 1) {
+            throw new PatientChangesExpiredException("Changes after position " + since
+                    + " are no longer retained; resync and resume from position 0");
+        }
+
+        List<PatientChangeDTO> changes = toDTOs(page);
+        long nextSince = changes.isEmpty() ? since : changes.get(changes.size() - 1).position();
+        return new PatientChangeFeedDTO(changes, nextSince, hasMore);
+    }
+
+    /**
+     * Converts outbox rows to their feed and sink representation
+     */
+    public List<PatientChangeDTO> toDTOs(List<PatientChangeEvent> events) {
+        List<PatientChangeDTO> changes = new ArrayList<>(events.size());
+        for (PatientChangeEvent event : events) {
+            changes.add(toDTO(event));
+        }
+        return changes;
+    }
+
+    private PatientChangeDTO toDTO(PatientChangeEvent event) {
+        PatientResponseDTO patient = null;
+        if (event.getPayload() != null) {
+            try {
+                patient = payloadReader.readValue(event.getPayload());
+            } catch (JsonProcessingException e) {
+                throw new IllegalStateException("Corrupt payload in patient change event " + event.getId(), e);
+            }
+        }
+        return new PatientChangeDTO(event.getFeedPosition(), event.getPatientId().toString(), event.getChangeType(),
+                event.getPatientVersion(), event.getOccurredAt().toString(), patient);
+    }
+
+    private PatientChangeEvent toEvent(PatientChangeType type, PatientResponseDTO patient, Instant occurredAt) {
+        try {
+            return new PatientChangeEvent(UUID.fromString(patient.id()), type, patient.version(),
+                    payloadWriter.writeValueAsString(patient), occurredAt);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Failed to serialize patient " + patient.id(), e);
+        }
+    }
+}
@@ -0,0 +1,45 @@
+package com.dilip.patientservice.service;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.UUID;
+
+/**
+ * Keyset position in a (sort key, id) ordering, exchanged with clients as an opaque token
+ *
+ * @param key sort key of the last patient returned, e.g. its name
+ * @param id  id of the last patient returned
+ */
+public record PatientCursor(String key, UUID id) {
+    private static final char SEPARATOR = '\n';
+
+    /**
+     * Encodes this position as a URL-safe token
+     *
+     * @return opaque continuation token
+     */
+    public String encode() {
+        String raw = id.toString() + SEPARATOR + key;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Decodes a token produced by {@link #encode()}
+     *
+     * @param token opaque continuation token
+     * @return decoded position
+     * @throws IllegalArgumentException if the token is malformed
+     */
+    public static PatientCursor decode(String token) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            int separator = raw.indexOf(SEPARATOR);
+            if (separator < 0) {
+                throw new IllegalArgumentException("Invalid cursor");
+            }
+            return new PatientCursor(raw.substring(separator + 1), UUID.fromString(raw.substring(0, separator)));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Invalid cursor", e);
+        }
+    }
+}
@@ -0,0 +1,109 @@
+package com.dilip.patientservice.service;
+
+import com.dilip.patientservice.repository.PatientRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.Locale;
+import java.util.stream.Stream;
+
+/**
+ * In-memory pre-check for email uniqueness. A negative answer is definitive and saves
+ * the existsByEmail round trip; a positive answer only means the database must be asked.
+ * The unique constraint on patient.email stays the final source of truth, so an email
+ * that slips past the index (e.g. inserted by another instance) is still rejected on write.
+ */
+@Component
+@Slf4j
+public class PatientEmailIndex {
+    private final PatientRepository patientRepository;
+    private final TransactionTemplate readOnlyTransaction;
+    private final long expectedInsertions;
+    private final double falsePositiveProbability;
+    private final Counter negativeLookups;
+    private final Counter possibleLookups;
+
+    private volatile EmailBloomFilter active;
+    private volatile EmailBloomFilter building;
+
+    public PatientEmailIndex(PatientRepository patientRepository,
+                             PlatformTransactionManager transactionManager,
+                             MeterRegistry meterRegistry,
+                             @Value("${patient.email-index.expected-insertions:1000000}") long expectedInsertions,
+                             @Value("${patient.email-index.false-positive-probability:0.01}") double falsePositiveProbability) {
+        this.patientRepository = patientRepository;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.expectedInsertions = expectedInsertions;
+        this.falsePositiveProbability = falsePositiveProbability;
+        this.negativeLookups = lookupCounter(meterRegistry, "negative");
+        this.possibleLookups = lookupCounter(meterRegistry, "possible");
+    }
+
+    /**
+     * Loads every stored email into a fresh filter. Until this completes, every
+     * lookup falls through to the database.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void warmUp() {
+        long existing = patientRepository.count();
+        EmailBloomFilter filter = new EmailBloomFilter(Math.max(expectedInsertions, existing * 2), falsePositiveProbability);
+        building = filter;
+        readOnlyTransaction.executeWithoutResult(status -> {
+            try (Stream<String> emails = patientRepository.streamAllEmails()) {
+                emails.forEach(email -> filter.add(normalize(email)));
+            }
+        });
+        active = filter;
+        building = null;
+        log.info("Email index warmed up with {} patients", existing);
+    }
+
+    /**
+     * Whether a patient with this email may exist
+     *
+     * @param email email to check
+     * @return false only if no patient has this email
+     */
+    public boolean mightExist(String email) {
+        EmailBloomFilter filter = active;
+        boolean possible = filter == null || filter.mightContain(normalize(email));
+        (possible ? possibleLookups : negativeLookups).increment();
+        return possible;
+    }
+
+    /**
+     * Record an email that is being written
+     *
+     * @param email email of a created or updated patient
+     */
+    public void add(String email) {
+        String normalized = normalize(email);
+        EmailBloomFilter pending = building;
+        if (pending != null) {
+            pending.add(normalized);
+        }
+        EmailBloomFilter filter = active;
+        if (filter != null) {
+            filter.add(normalized);
+        }
+    }
+
+    private static Counter lookupCounter(MeterRegistry meterRegistry, String result) {
+        return Counter.builder("patient.email.index.lookups")
+                .description("Email uniqueness pre-checks; negative lookups skip the database")
+                .tag("result", result)
+                .register(meterRegistry);
+    }
+
+    private static String normalize(String email) {
+        return email.trim().toLowerCase(Locale.ROOT);
+    }
+}
@@ -0,0 +1,39 @@
+package com.dilip.patientservice.service;
+
+import com.dilip.patientservice.config.WireFormatConfig;
+import org.springframework.http.MediaType;
+
+/**
+ * Wire formats supported by the streaming patient export
+ */
+public enum PatientExportFormat {
+    /**
+     * One JSON document per line
+     */
+    NDJSON(MediaType.APPLICATION_NDJSON),
+
+    /**
+     * A single JSON array written element by element
+     */
+    JSON_ARRAY(MediaType.APPLICATION_JSON),
+
+    /**
+     * Concatenated CBOR data items, RFC 8742
+     */
+    CBOR_SEQUENCE(WireFormatConfig.APPLICATION_CBOR_SEQ),
+
+    /**
+     * A single indefinite-length CBOR array written element by element
+     */
+    CBOR_ARRAY(MediaType.APPLICATION_CBOR);
+
+    private final MediaType mediaType;
+
+    PatientExportFormat(MediaType mediaType) {
+        this.mediaType = mediaType;
+    }
+
+    public MediaType getMediaType() {
+        return mediaType;
+    }
+}
@@ -0,0 +1,88 @@
+package com.dilip.patientservice.service;
+
+import com.dilip.patientservice.dto.PatientResponseDTO;
+import com.dilip.patientservice.mapper.PatientMapper;
+import com.dilip.patientservice.repository.PatientRepository;
+import com.dilip.patientservice.repository.PatientRow;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SequenceWriter;
+import io.micrometer.observation.annotation.Observed;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Iterator;
+import java.util.stream.Stream;
+
+/**
+ * Streams the full patient table to an output stream with flat memory usage.
+ * Rows are read through a fetch-size tuned cursor as PatientRow projections and
+ * written immediately; they are never managed, so nothing accumulates per row.
+ */
+@Service
+@Observed(name = "patient.service")
+@Slf4j
+public class PatientExportService {
+    private static final int FLUSH_INTERVAL = 1000;
+
+    private final PatientRepository patientRepository;
+    private final ObjectWriter ndjsonWriter;
+    private final ObjectWriter arrayWriter;
+    private final ObjectWriter cborWriter;
+
+    public PatientExportService(PatientRepository patientRepository, ObjectMapper objectMapper,
+                                MappingJackson2CborHttpMessageConverter cborConverter) {
+        this.patientRepository = patientRepository;
+        ObjectWriter writer = objectMapper.writerFor(PatientResponseDTO.class)
+                .without(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+        this.ndjsonWriter = writer.withRootValueSeparator("\n");
+        this.arrayWriter = writer;
+        this.cborWriter = cborConverter.getObjectMapper().writerFor(PatientResponseDTO.class)
+                .without(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+    }
+
+    /**
+     * Write every patient to the given output stream
+     *
+     * @param format wire format of the export
+     * @param out    target stream, left open for the caller
+     * @return number of patients written
+     * @throws IOException if writing to the stream fails
+     */
+    @Transactional(readOnly = true)
+    public long exportPatients(PatientExportFormat format, OutputStream out) throws IOException {
+        log.debug("Streaming patient export as {}", format);
+        long count = 0;
+        try (Stream<PatientRow> rows = patientRepository.streamAllRows();
+             SequenceWriter sequenceWriter = sequenceWriter(format, out)) {
+            Iterator<PatientRow> iterator = rows.iterator();
+            while (iterator.hasNext()) {
+                sequenceWriter.write(PatientMapper.toDTO(iterator.next()));
+                if (++count % FLUSH_INTERVAL == 0) {
+                    sequenceWriter.flush();
+                }
+            }
+            sequenceWriter.flush();
+            if (format == PatientExportFormat.NDJSON && count > 0) {
+                out.write('\n');
+            }
+        }
+        out.flush();
+        log.info("Exported {} patients as {}", count, format);
+        return count;
+    }
+
+    private SequenceWriter sequenceWriter(PatientExportFormat format, OutputStream out) throws IOException {
+        return switch (format) {
+            case NDJSON -> ndjsonWriter.writeValues(out);
+            case JSON_ARRAY -> arrayWriter.writeValuesAsArray(out);
+            case CBOR_SEQUENCE -> cborWriter.writeValues(out);
+            case CBOR_ARRAY -> cborWriter.writeValuesAsArray(out);
+        };
+    }
+}
@@ -0,0 +1,238 @@
+package com.dilip.patientservice.service;
+
+import com.dilip.patientservice.cache.PatientPageCache;
+import com.dilip.patientservice.config.WireFormatConfig;
+import com.dilip.patientservice.dto.BulkImportResultDTO;
+import com.dilip.patientservice.dto.BulkImportRowResultDTO;
+import com.dilip.patientservice.dto.BulkImportStatus;
+import com.dilip.patientservice.dto.PatientRequestDTO;
+import com.dilip.patientservice.dto.validators.CreatePatientValidationGroup;
+import com.dilip.patientservice.mapper.PatientMapper;
+import com.dilip.patientservice.model.Patient;
+import com.dilip.patientservice.model.PatientChangeType;
+import com.dilip.patientservice.repository.PatientRepository;
+import com.dilip.patientservice.search.PatientTextIndex;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.DatabindException;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import io.micrometer.observation.annotation.Observed;
+import jakarta.persistence.EntityManager;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import jakarta.validation.groups.Default;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionException;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Bulk patient creation. Rows are read lazily from a JSON array, an NDJSON stream,
+ * a CBOR array or a CBOR sequence and processed in chunks: each chunk is validated, checked for duplicate emails
+ * against the in-memory email index and at most one IN query, then inserted with
+ * JDBC batching in its own transaction.
+ * <p>
+ * Chunks commit as they are read, so a payload that turns out to be malformed part way
+ * through is not rolled back. Every row before the malformed one is still processed and
+ * reported, and the report says where reading stopped. Rows that are well-formed but not a
+ * patient, such as {@code null}, are reported as invalid and reading goes on.
+ */
+@Service
+@Observed(name = "patient.service")
+@Slf4j
+public class PatientImportService {
+    private final PatientRepository patientRepository;
+    private final PatientEmailIndex patientEmailIndex;
+    private final PatientTextIndex patientTextIndex;
+    private final PatientPageCache patientPageCache;
+    private final PatientChangeService patientChangeService;
+    private final EntityManager entityManager;
+    private final Validator validator;
+    private final TransactionTemplate transactionTemplate;
+    private final ObjectReader requestReader;
+    private final ObjectReader cborRequestReader;
+    private final int chunkSize;
+
+    public PatientImportService(PatientRepository patientRepository,
+                                PatientEmailIndex patientEmailIndex,
+                                PatientTextIndex patientTextIndex,
+                                PatientPageCache patientPageCache,
+                                PatientChangeService patientChangeService,
+                                EntityManager entityManager,
+                                Validator validator,
+                                PlatformTransactionManager transactionManager,
+                                ObjectMapper objectMapper,
+                                MappingJackson2CborHttpMessageConverter cborConverter,
+                                @Value("${patient.import.chunk-size:500}") int chunkSize) {
+        this.patientRepository = patientRepository;
+        this.patientEmailIndex = patientEmailIndex;
+        this.patientTextIndex = patientTextIndex;
+        this.patientPageCache = patientPageCache;
+        this.patientChangeService = patientChangeService;
+        this.entityManager = entityManager;
+        this.validator = validator;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.requestReader = objectMapper.readerFor(PatientRequestDTO.class);
+        this.cborRequestReader = cborConverter.getObjectMapper().readerFor(PatientRequestDTO.class);
+        this.chunkSize = chunkSize;
+    }
+
+    /**
+     * Import patients from a JSON array or a stream of newline-delimited JSON objects,
+     * or from their CBOR counterparts
+     *
+     * @param in          request body
+     * @param contentType media type of the body; CBOR types select the binary reader
+     * @return BulkImportResultDTO with one entry per row read, in request order, and an error
+     * if the payload is malformed after those rows
+     */
+    public BulkImportResultDTO importPatients(InputStream in, MediaType contentType) {
+        boolean cbor = MediaType.APPLICATION_CBOR.isCompatibleWith(contentType)
+                || WireFormatConfig.APPLICATION_CBOR_SEQ.isCompatibleWith(contentType);
+        ObjectReader reader = cbor ? cborRequestReader : requestReader;
+        List<BulkImportRowResultDTO> results = new ArrayList<>();
+        Set<String> seenEmails = new HashSet<>();
+        List<PatientRequestDTO> chunk = new ArrayList<>(chunkSize);
+        List<String> readErrors = new ArrayList<>(chunkSize);
+        String error = null;
+
+        try (MappingIterator<PatientRequestDTO> rows = reader.readValues(in)) {
+            while (rows.hasNextValue()) {
+                try {
+                    chunk.add(rows.nextValue());
+                    readErrors.add(null);
+                } catch (DatabindException e) {
+                    // Well-formed but not a patient, e.g. null; the iterator skips to the next row
+                    chunk.add(null);
+                    readErrors.add(e.getOriginalMessage());
+                }
+                if (chunk.size() == chunkSize) {
+                    importChunk(chunk, readErrors, results.size(), seenEmails, results);
+                    chunk.clear();
+                    readErrors.clear();
+                }
+            }
+        } catch (JsonProcessingException e) {
+            error = "Malformed import payload at row " + (results.size() + chunk.size()) + ": " + e.getOriginalMessage();
+            log.warn("Bulk import stopped: {}", error);
+        } catch (IOException e) {
+            throw new IllegalStateException("Failed to read import payload", e);
+        }
+        if (!chunk.isEmpty()) {
+            importChunk(chunk, readErrors, results.size(), seenEmails, results);
+        }
+
+        int created = (int) results.stream().filter(row -> row.status() == BulkImportStatus.CREATED).count();
+        log.info("Bulk import finished: {} rows, {} created", results.size(), created);
+        return new BulkImportResultDTO(results.size(), created, results.size() - created, results, error);
+    }
+
+    private void importChunk(List<PatientRequestDTO> chunk, List<String> readErrors, int offset,
+                             Set<String> seenEmails, List<BulkImportRowResultDTO> results) {
+        BulkImportRowResultDTO[] chunkResults = new BulkImportRowResultDTO[chunk.size()];
+        List<Integer> candidates = new ArrayList<>(chunk.size());
+        Set<String> candidateEmails = new HashSet<>();
+
+        for (int i = 0; i < chunk.size(); i++) {
+            PatientRequestDTO dto = chunk.get(i);
+            if (dto == null) {
+                String error = readErrors.get(i) != null ? readErrors.get(i) : "Row is null";
+                chunkResults[i] = rejected(offset + i, BulkImportStatus.INVALID, null, error);
+                continue;
+            }
+            Set<ConstraintViolation<PatientRequestDTO>> violations =
+                    validator.validate(dto, Default.class, CreatePatientValidationGroup.class);
+            if (!violations.isEmpty()) {
+                String error = violations.stream()
+                        .map(violation -> violation.getPropertyPath() + ": " + violation.getMessage())
+                        .sorted()
+                        .collect(Collectors.joining(", "));
+                chunkResults[i] = rejected(offset + i, BulkImportStatus.INVALID, dto, error);
+            } else if (!seenEmails.add(dto.email())) {
+                chunkResults[i] = rejected(offset + i, BulkImportStatus.DUPLICATE, dto, "Duplicate email in request");
+            } else {
+                candidates.add(i);
+                candidateEmails.add(dto.email());
+            }
+        }
+
+        if (!candidates.isEmpty()) {
+            insertCandidates(chunk, offset, candidates, candidateEmails, chunkResults);
+        }
+        results.addAll(List.of(chunkResults));
+    }
+
+    private void insertCandidates(List<PatientRequestDTO> chunk, int offset, List<Integer> candidates,
+                                  Set<String> candidateEmails, BulkImportRowResultDTO[] chunkResults) {
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                Set<String> possiblyExisting = candidateEmails.stream()
+                        .filter(patientEmailIndex::mightExist)
+                        .collect(Collectors.toSet());
+                Set<String> existing = possiblyExisting.isEmpty()
+                        ? Set.of()
+                        : new HashSet<>(patientRepository.findExistingEmails(possiblyExisting));
+                List<Integer> inserted = new ArrayList<>(candidates.size());
+                List<Patient> patients = new ArrayList<>(candidates.size());
+
+                for (int i : candidates) {
+                    PatientRequestDTO dto = chunk.get(i);
+                    if (existing.contains(dto.email())) {
+                        chunkResults[i] = rejected(offset + i, BulkImportStatus.DUPLICATE, dto, "Email address already exists");
+                        continue;
+                    }
+                    try {
+                        patients.add(PatientMapper.toModel(dto));
+                        patientEmailIndex.add(dto.email());
+                        inserted.add(i);
+                    } catch (IllegalArgumentException e) {
+                        chunkResults[i] = rejected(offset + i, BulkImportStatus.INVALID, dto, e.getMessage());
+                    }
+                }
+
+                patientRepository.saveAll(patients);
+                patientRepository.flush();
+                entityManager.clear();
+                if (!patients.isEmpty()) {
+                    patientChangeService.recordChanges(PatientChangeType.CREATED,
+                            patients.stream().map(PatientMapper::toDTO).toList());
+                    patientPageCache.invalidate();
+                }
+
+                for (int j = 0; j < inserted.size(); j++) {
+                    int i = inserted.get(j);
+                    Patient patient = patients.get(j);
+                    patientTextIndex.index(patient.getId(), patient.getName(), patient.getAddress());
+                    chunkResults[i] = new BulkImportRowResultDTO(offset + i, BulkImportStatus.CREATED,
+                            patient.getId().toString(), patient.getEmail(), null);
+                }
+            });
+        } catch (DataAccessException | TransactionException e) {
+            log.warn("Bulk import chunk at row {} failed: {}", offset, e.getMessage());
+            for (int i : candidates) {
+                if (chunkResults[i] == null || chunkResults[i].status() == BulkImportStatus.CREATED) {
+                    chunkResults[i] = rejected(offset + i, BulkImportStatus.FAILED, chunk.get(i),
+                            "Chunk rolled back: " + e.getMostSpecificCause().getMessage());
+                }
+            }
+        }
+    }
+
+    private static BulkImportRowResultDTO rejected(int index, BulkImportStatus status, PatientRequestDTO dto, String error) {
+        return new BulkImportRowResultDTO(index, status, null, dto != null ? dto.email() : null, error);
+    }
+}
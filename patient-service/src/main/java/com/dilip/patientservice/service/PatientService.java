@@ -1,49 +1,139 @@
 package com.dilip.patientservice.service;
 
+import com.dilip.patientservice.cache.PatientPageCache;
+import com.dilip.patientservice.config.CacheConfig;
+import com.dilip.patientservice.dto.PatientBatchResponseDTO;
+import com.dilip.patientservice.dto.PatientPatchDTO;
 import com.dilip.patientservice.dto.PatientRequestDTO;
 import com.dilip.patientservice.dto.PatientResponseDTO;
+import com.dilip.patientservice.dto.PatientSliceDTO;
 import com.dilip.patientservice.exception.EmailAlreadyExistsException;
 import com.dilip.patientservice.exception.PatientNotFoundException;
+import com.dilip.patientservice.exception.PatientVersionMismatchException;
 import com.dilip.patientservice.mapper.PatientMapper;
 import com.dilip.patientservice.model.Patient;
+import com.dilip.patientservice.model.PatientChangeType;
 import com.dilip.patientservice.repository.PatientRepository;
+import com.dilip.patientservice.repository.PatientRow;
+import com.dilip.patientservice.repository.PatientSearchCriteria;
+import com.dilip.patientservice.repository.PatientVersion;
+import com.dilip.patientservice.search.PatientTextIndex;
+import io.micrometer.observation.annotation.Observed;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.CachePut;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import java.util.UUID;
 
 @Service
+@Observed(name = "patient.service")
 @RequiredArgsConstructor
 @Slf4j
 @Transactional(readOnly = true)
 public class PatientService {
+    public static final int MAX_SLICE_SIZE = 100;
+
     private final PatientRepository patientRepository;
+    private final PatientEmailIndex patientEmailIndex;
+    private final CacheManager cacheManager;
+    private final PatientTextIndex patientTextIndex;
+    private final PatientPageCache patientPageCache;
+    private final PatientChangeService patientChangeService;
+
+    @Value("${patient.batch-get.max-ids:500}")
+    private int maxBatchIds;
 
     /**
-     * Get all patients with pagination
+     * Get all patients with pagination. Rows are projected straight into PatientRow
+     * so no managed entities are hydrated for a response-only read.
      *
      * @param pageable pagination information
      * @return Page of PatientResponseDTO objects
      */
     public Page<PatientResponseDTO> getPatients(Pageable pageable) {
         log.debug("Fetching patients page: {}", pageable);
-        return patientRepository.findAll(pageable).map(PatientMapper::toDTO);
+        return patientRepository.findAllRows(pageable).map(PatientMapper::toDTO);
     }
 
     /**
-     * Get all patients (no pagination)
+     * Get a keyset page of patients ordered by name and id.
+     * Cost is independent of how deep the page is and no count query is issued.
      *
-     * @return List of PatientResponseDTO objects
+     * @param cursor continuation token from the previous page, or null for the first page
+     * @param size   requested page size, clamped to [1, MAX_SLICE_SIZE]
+     * @return PatientSliceDTO with the page and the next cursor
+     * @throws IllegalArgumentException if the cursor is malformed
      */
-    public List<PatientResponseDTO> getPatients() {
-        log.debug("Fetching all patients");
-        List<Patient> patients = patientRepository.findAll();
-        return patients.stream().map(PatientMapper::toDTO).toList();
+    public PatientSliceDTO getPatientSlice(String cursor, int size) {
+        log.debug("Fetching patients slice after cursor: {}", cursor);
+        int pageSize = Math.min(Math.max(size, 1), MAX_SLICE_SIZE);
+        Limit limit = Limit.of(pageSize + 1);
+        List<PatientRow> rows;
+        if (cursor == null || cursor.isBlank()) {
+            rows = patientRepository.findFirstRows(limit);
+        } else {
+            PatientCursor position = PatientCursor.decode(cursor);
+            rows = patientRepository.findRowsAfter(position.key(), position.id(), limit);
+        }
+
+        boolean hasNext = rows.size() > pageSize;
+        List<PatientRow> page = hasNext ? rows.subList(0, pageSize) : rows;
+        String nextCursor = null;
+        if (hasNext) {
+            PatientRow last = page.get(page.size() - 1);
+            nextCursor = new PatientCursor(last.name(), last.id()).encode();
+        }
+        return new PatientSliceDTO(page.stream().map(PatientMapper::toDTO).toList(), pageSize, hasNext, nextCursor);
+    }
+
+    /**
+     * Search patients by name prefix, email and date ranges with keyset pagination.
+     * The ordering follows the filter so the matching (column, id) index serves both
+     * the range scan and the sort.
+     *
+     * @param criteria search filters
+     * @param cursor   continuation token from the previous page, or null for the first page
+     * @param size     requested page size, clamped to [1, MAX_SLICE_SIZE]
+     * @return PatientSliceDTO with the page and the next cursor
+     * @throws IllegalArgumentException if the cursor is malformed
+     */
+    public PatientSliceDTO searchPatients(PatientSearchCriteria criteria, String cursor, int size) {
+        log.debug("Searching patients with {} after cursor: {}", criteria, cursor);
+        int pageSize = Math.min(Math.max(size, 1), MAX_SLICE_SIZE);
+        PatientCursor position = cursor == null || cursor.isBlank() ? null : PatientCursor.decode(cursor);
+        List<Patient> patients = patientRepository.search(criteria,
+                position != null ? position.key() : null,
+                position != null ? position.id() : null,
+                pageSize + 1);
+
+        boolean hasNext = patients.size() > pageSize;
+        List<Patient> page = hasNext ? patients.subList(0, pageSize) : patients;
+        String nextCursor = null;
+        if (hasNext) {
+            Patient last = page.get(page.size() - 1);
+            nextCursor = new PatientCursor(criteria.sortKey().keyOf(last), last.getId()).encode();
+        }
+        return new PatientSliceDTO(page.stream().map(PatientMapper::toDTO).toList(), pageSize, hasNext, nextCursor);
     }
 
     /**
@@ -53,6 +143,7 @@ public class PatientService {
      * @return PatientResponseDTO
      * @throws PatientNotFoundException if patient not found
      */
+    @Cacheable(cacheNames = CacheConfig.PATIENTS_CACHE, key = "#id", sync = true)
     public PatientResponseDTO getPatientById(UUID id) {
         log.debug("Fetching patient with id: {}", id);
         return patientRepository.findById(id)
@@ -60,6 +151,76 @@ public class PatientService {
                 .orElseThrow(() -> new PatientNotFoundException("Patient not found with id: " + id));
     }
 
+    /**
+     * Get the version and last modification time of a patient to answer a conditional request.
+     * A cached patient is answered without a transaction; otherwise only those two columns are read.
+     *
+     * @param id patient ID
+     * @return PatientVersion
+     * @throws PatientNotFoundException if patient not found
+     */
+    @Transactional(propagation = Propagation.SUPPORTS)
+    public PatientVersion getPatientVersion(UUID id) {
+        Cache cache = cacheManager.getCache(CacheConfig.PATIENTS_CACHE);
+        PatientResponseDTO cached = cache != null ? cache.get(id, PatientResponseDTO.class) : null;
+        if (cached != null) {
+            return new PatientVersion(cached.version(), Instant.parse(cached.lastModified()));
+        }
+        return patientRepository.findPatientVersionById(id)
+                .orElseThrow(() -> new PatientNotFoundException("Patient not found with id: " + id));
+    }
+
+    /**
+     * Get many patients by ID. Cached patients are served from the cache and the
+     * rest are loaded with a single IN query. Loaded patients are not cached: a delete
+     * committing between the query and the put would leave the deleted patient cached,
+     * so only the synchronized single-patient read fills the cache.
+     *
+     * @param ids patient IDs; duplicates are resolved once
+     * @return PatientBatchResponseDTO with found patients and missing ids, both in request order
+     * @throws IllegalArgumentException if an id is null or more than the configured maximum of ids is requested
+     */
+    public PatientBatchResponseDTO getPatientsByIds(List<UUID> ids) {
+        log.debug("Fetching {} patients by id", ids.size());
+        Set<UUID> uniqueIds = new LinkedHashSet<>(ids);
+        if (uniqueIds.contains(null)) {
+            throw new IllegalArgumentException("Ids cannot be null");
+        }
+        if (uniqueIds.size() > maxBatchIds) {
+            throw new IllegalArgumentException("At most " + maxBatchIds + " ids can be requested at once");
+        }
+
+        Cache cache = cacheManager.getCache(CacheConfig.PATIENTS_CACHE);
+        Map<UUID, PatientResponseDTO> found = new HashMap<>();
+        List<UUID> misses = new ArrayList<>();
+        for (UUID id : uniqueIds) {
+            PatientResponseDTO cached = cache != null ? cache.get(id, PatientResponseDTO.class) : null;
+            if (cached != null) {
+                found.put(id, cached);
+            } else {
+                misses.add(id);
+            }
+        }
+
+        if (!misses.isEmpty()) {
+            for (Patient patient : patientRepository.findAllById(misses)) {
+                found.put(patient.getId(), PatientMapper.toDTO(patient));
+            }
+        }
+
+        List<PatientResponseDTO> patients = new ArrayList<>(found.size());
+        List<String> missingIds = new ArrayList<>();
+        for (UUID id : uniqueIds) {
+            PatientResponseDTO dto = found.get(id);
+            if (dto != null) {
+                patients.add(dto);
+            } else {
+                missingIds.add(id.toString());
+            }
+        }
+        return new PatientBatchResponseDTO(patients, missingIds);
+    }
+
     /**
      * Create a new patient
      *
@@ -70,52 +231,155 @@ public class PatientService {
     @Transactional
     public PatientResponseDTO createPatient(PatientRequestDTO patientRequestDTO) {
         log.debug("Creating new patient with email: {}", patientRequestDTO.email());
-        if (patientRepository.existsByEmail(patientRequestDTO.email())) {
+        if (emailTaken(patientRequestDTO.email())) {
             throw new EmailAlreadyExistsException("Patient already exists with email: " + patientRequestDTO.email());
         }
 
-        Patient newPatient = patientRepository.save(PatientMapper.toModel(patientRequestDTO));
+        Patient newPatient = saveAndFlush(PatientMapper.toModel(patientRequestDTO));
+        patientTextIndex.index(newPatient.getId(), newPatient.getName(), newPatient.getAddress());
+        patientPageCache.invalidate();
+        PatientResponseDTO created = PatientMapper.toDTO(newPatient);
+        patientChangeService.recordChange(PatientChangeType.CREATED, created);
         log.info("Created new patient with id: {}", newPatient.getId());
-        return PatientMapper.toDTO(newPatient);
+        return created;
     }
 
     /**
-     * Update an existing patient
+     * Update an existing patient with a single conditional UPDATE. Without an expected
+     * version the current one is read first with a scalar query, never the full entity.
      *
      * @param id                patient ID
      * @param patientRequestDTO updated patient data
+     * @param expectedVersion   version the client last saw, or null to overwrite any version
      * @return PatientResponseDTO
-     * @throws PatientNotFoundException    if patient not found
-     * @throws EmailAlreadyExistsException if new email already exists
+     * @throws PatientNotFoundException          if patient not found
+     * @throws EmailAlreadyExistsException       if new email already exists
+     * @throws PatientVersionMismatchException   if the patient no longer has the expected version
+     * @throws OptimisticLockingFailureException if the patient changed concurrently
      */
     @Transactional
-    public PatientResponseDTO updatePatient(UUID id, PatientRequestDTO patientRequestDTO) {
+    @CachePut(cacheNames = CacheConfig.PATIENTS_CACHE, key = "#id")
+    public PatientResponseDTO updatePatient(UUID id, PatientRequestDTO patientRequestDTO, Long expectedVersion) {
         log.debug("Updating patient with id: {}", id);
+        long version = expectedVersion != null
+                ? expectedVersion
+                : patientRepository.findVersionById(id)
+                        .orElseThrow(() -> new PatientNotFoundException("Patient not found with id: " + id));
+
+        // The unchanged email of the patient itself always hits the index, so uniqueness
+        // is left to the constraint here instead of paying for a pre-check on every PUT
+        Patient updatedPatient = PatientMapper.toModel(patientRequestDTO);
+        updatedPatient.setId(id);
+        updatedPatient.touch();
+        patientEmailIndex.add(updatedPatient.getEmail());
+        int updated;
+        try {
+            updated = patientRepository.updateIfVersionMatches(updatedPatient, version);
+        } catch (DataIntegrityViolationException e) {
+            throw new EmailAlreadyExistsException("Patient already exists with email: " + patientRequestDTO.email());
+        }
+        if (updated == 0) {
+            throw versionConflict(id, expectedVersion);
+        }
+
+        updatedPatient.setVersion(version + 1);
+        patientTextIndex.index(id, updatedPatient.getName(), updatedPatient.getAddress());
+        patientPageCache.invalidate();
+        PatientResponseDTO result = PatientMapper.toDTO(updatedPatient);
+        patientChangeService.recordChange(PatientChangeType.UPDATED, result);
+        return result;
+    }
+
+    /**
+     * Partially update a patient. Only the changed columns are written and the
+     * version column guards against concurrent modification.
+     *
+     * @param id              patient ID
+     * @param patientPatchDTO fields to change, null fields are kept
+     * @param expectedVersion version the client last saw, or null to skip the check
+     * @return PatientResponseDTO
+     * @throws PatientNotFoundException        if patient not found
+     * @throws EmailAlreadyExistsException     if new email already exists
+     * @throws PatientVersionMismatchException if the patient no longer has the expected version
+     */
+    @Transactional
+    @CachePut(cacheNames = CacheConfig.PATIENTS_CACHE, key = "#id")
+    public PatientResponseDTO patchPatient(UUID id, PatientPatchDTO patientPatchDTO, Long expectedVersion) {
+        log.debug("Patching patient with id: {}", id);
         Patient existingPatient = patientRepository.findById(id)
                 .orElseThrow(() -> new PatientNotFoundException("Patient not found with id: " + id));
+        if (expectedVersion != null && !expectedVersion.equals(existingPatient.getVersion())) {
+            throw new PatientVersionMismatchException("Patient " + id + " is at version " + existingPatient.getVersion());
+        }
 
-        if (!existingPatient.getEmail().equals(patientRequestDTO.email()) &&
-                patientRepository.existsByEmail(patientRequestDTO.email())) {
-            throw new EmailAlreadyExistsException("Patient already exists with email: " + patientRequestDTO.email());
+        String email = patientPatchDTO.email();
+        if (email != null && !existingPatient.getEmail().equals(email) && emailTaken(email)) {
+            throw new EmailAlreadyExistsException("Patient already exists with email: " + email);
         }
 
-        Patient updatedPatient = PatientMapper.updateModel(existingPatient, patientRequestDTO);
-        return PatientMapper.toDTO(patientRepository.save(updatedPatient));
+        Patient patchedPatient = saveAndFlush(PatientMapper.patchModel(existingPatient, patientPatchDTO));
+        patientTextIndex.index(id, patchedPatient.getName(), patchedPatient.getAddress());
+        patientPageCache.invalidate();
+        PatientResponseDTO patched = PatientMapper.toDTO(patchedPatient);
+        patientChangeService.recordChange(PatientChangeType.UPDATED, patched);
+        return patched;
     }
 
     /**
-     * Delete a patient by ID
+     * Delete a patient by ID with a single DELETE statement
      *
-     * @param id patient ID
-     * @throws PatientNotFoundException if patient not found
+     * @param id              patient ID
+     * @param expectedVersion version the client last saw, or null to delete any version
+     * @throws PatientNotFoundException        if patient not found
+     * @throws PatientVersionMismatchException if the patient no longer has the expected version
      */
     @Transactional
-    public void deletePatient(UUID id) {
+    @CacheEvict(cacheNames = CacheConfig.PATIENTS_CACHE, key = "#id")
+    public void deletePatient(UUID id, Long expectedVersion) {
         log.debug("Deleting patient with id: {}", id);
-        if (!patientRepository.existsById(id)) {
-            throw new PatientNotFoundException("Patient not found with id: " + id);
+        int deleted = expectedVersion != null
+                ? patientRepository.deleteIfVersionMatches(id, expectedVersion)
+                : patientRepository.deletePatientById(id);
+        if (deleted == 0) {
+            throw versionConflict(id, expectedVersion);
         }
-        patientRepository.deleteById(id);
+        patientTextIndex.remove(id);
+        patientPageCache.invalidate();
+        // The delete is the patient's next change after expectedVersion, and must sort after the change that made it
+        patientChangeService.recordDeletion(id, expectedVersion != null ? expectedVersion + 1 : null);
         log.info("Deleted patient with id: {}", id);
     }
+
+    /**
+     * Checks the in-memory email index first and only asks the database on a possible hit
+     */
+    private boolean emailTaken(String email) {
+        return patientEmailIndex.mightExist(email) && patientRepository.existsByEmail(email);
+    }
+
+    /**
+     * Explains why a conditional write touched no rows; only runs on the failure path
+     */
+    private RuntimeException versionConflict(UUID id, Long expectedVersion) {
+        if (!patientRepository.existsById(id)) {
+            return new PatientNotFoundException("Patient not found with id: " + id);
+        }
+        if (expectedVersion != null) {
+            return new PatientVersionMismatchException("Patient " + id + " is no longer at version " + expectedVersion);
+        }
+        return new OptimisticLockingFailureException("Patient " + id + " was modified concurrently");
+    }
+
+    /**
+     * Writes the patient immediately so a unique email violation that slipped past
+     * the pre-check surfaces here as EmailAlreadyExistsException
+     */
+    private Patient saveAndFlush(Patient patient) {
+        patientEmailIndex.add(patient.getEmail());
+        try {
+            return patientRepository.saveAndFlush(patient);
+        } catch (DataIntegrityViolationException e) {
+            throw new EmailAlreadyExistsException("Patient already exists with email: " + patient.getEmail());
+        }
+    }
 }
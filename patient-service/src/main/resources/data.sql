@@ -7,9 +7,37 @@ CREATE TABLE IF NOT EXISTS patient
     email           VARCHAR(255) UNIQUE NOT NULL,
     address         VARCHAR(255)        NOT NULL,
     date_of_birth   DATE                NOT NULL,
-    registered_date DATE                NOT NULL
+    registered_date DATE                NOT NULL,
+    version         BIGINT DEFAULT 0    NOT NULL,
+    last_modified   TIMESTAMP(3) WITH TIME ZONE DEFAULT CURRENT_TIMESTAMP NOT NULL,
+    name_lower      VARCHAR(255) GENERATED ALWAYS AS (LOWER(name))
     );
 
+CREATE INDEX IF NOT EXISTS idx_patient_name_id ON patient (name, id);
+CREATE INDEX IF NOT EXISTS idx_patient_name_lower_id ON patient (name_lower, id);
+CREATE INDEX IF NOT EXISTS idx_patient_date_of_birth_id ON patient (date_of_birth, id);
+CREATE INDEX IF NOT EXISTS idx_patient_registered_date_id ON patient (registered_date, id);
+
+-- Outbox of patient changes, relayed to the change sink and served as an incremental feed
+CREATE SEQUENCE IF NOT EXISTS patient_change_event_seq START WITH 1 INCREMENT BY 50;
+
+CREATE TABLE IF NOT EXISTS patient_change_event
+(
+    id              BIGINT PRIMARY KEY,
+    patient_id      UUID                        NOT NULL,
+    change_type     VARCHAR(16)                 NOT NULL,
+    patient_version BIGINT,
+    payload         VARCHAR(4000),
+    occurred_at     TIMESTAMP(3) WITH TIME ZONE NOT NULL,
+    feed_position   BIGINT,
+    published_at    TIMESTAMP(3) WITH TIME ZONE
+    );
+
+CREATE UNIQUE INDEX IF NOT EXISTS idx_patient_change_event_position ON patient_change_event (feed_position);
+CREATE INDEX IF NOT EXISTS idx_patient_change_event_unpositioned
+    ON patient_change_event (feed_position, patient_id, patient_version, id);
+CREATE INDEX IF NOT EXISTS idx_patient_change_event_unpublished ON patient_change_event (published_at, feed_position);
+
 -- Insert well-known UUIDs for specific patients
 INSERT INTO patient (id, name, email, address, date_of_birth, registered_date)
 SELECT '123e4567-e89b-12d3-a456-426614174000',
@@ -0,0 +1,20 @@
+CREATE TABLE patient
+(
+    id              UUID PRIMARY KEY,
+    name            VARCHAR(255)                NOT NULL,
+    email           VARCHAR(255)                NOT NULL,
+    address         VARCHAR(255)                NOT NULL,
+    date_of_birth   DATE                        NOT NULL,
+    registered_date DATE                        NOT NULL,
+    version         BIGINT                      NOT NULL DEFAULT 0,
+    last_modified   TIMESTAMP(3) WITH TIME ZONE NOT NULL DEFAULT now(),
+    -- The "C" collation lets one plain btree index serve both LIKE 'prefix%' and ORDER BY name_lower
+    name_lower      VARCHAR(255) COLLATE "C" GENERATED ALWAYS AS (lower(name)) STORED,
+    CONSTRAINT uk_patient_email UNIQUE (email)
+);
+
+-- Keyset pagination and search: each index serves both the range predicate and the (column, id) ordering
+CREATE INDEX idx_patient_name_id ON patient (name, id);
+CREATE INDEX idx_patient_name_lower_id ON patient (name_lower, id);
+CREATE INDEX idx_patient_date_of_birth_id ON patient (date_of_birth, id);
+CREATE INDEX idx_patient_registered_date_id ON patient (registered_date, id);
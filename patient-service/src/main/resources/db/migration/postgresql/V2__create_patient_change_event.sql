@@ -0,0 +1,23 @@
+CREATE SEQUENCE patient_change_event_seq START WITH 1 INCREMENT BY 50;
+
+CREATE TABLE patient_change_event
+(
+    id              BIGINT PRIMARY KEY,
+    patient_id      UUID                        NOT NULL,
+    change_type     VARCHAR(16)                 NOT NULL,
+    patient_version BIGINT,
+    payload         VARCHAR(4000),
+    occurred_at     TIMESTAMP(3) WITH TIME ZONE NOT NULL,
+    feed_position   BIGINT,
+    published_at    TIMESTAMP(3) WITH TIME ZONE
+);
+
+-- Change feed reads by position; the unique index also rejects a second relay handing out positions
+CREATE UNIQUE INDEX idx_patient_change_event_position ON patient_change_event (feed_position);
+
+-- Same definitions as the PatientChangeEvent mapping and data.sql.
+-- Relay queue in positioning order; unpositioned rows lead the index with NULL feed_position
+CREATE INDEX idx_patient_change_event_unpositioned
+    ON patient_change_event (feed_position, patient_id, patient_version, id);
+-- Publishing queue in feed order, also serves the retention purge's range on published_at
+CREATE INDEX idx_patient_change_event_unpublished ON patient_change_event (published_at, feed_position);
@@ -0,0 +1,40 @@
+package com.dilip.patientservice;
+
+import com.dilip.patientservice.dto.PatientRequestDTO;
+
+import java.util.UUID;
+
+/**
+ * Patient requests for tests. Emails are unique per call, so tests sharing
+ * an application context never collide on the email constraint.
+ */
+public final class PatientFixtures {
+
+    private PatientFixtures() {
+    }
+
+    public static PatientRequestDTO request(String name) {
+        return request(name, uniqueEmail());
+    }
+
+    public static PatientRequestDTO request(String name, String email) {
+        return PatientRequestDTO.builder()
+                .name(name)
+                .email(email)
+                .address("1 Test Street, Springfield")
+                .dateOfBirth("1985-04-12")
+                .registeredDate("2024-01-15")
+                .build();
+    }
+
+    public static String uniqueEmail() {
+        return "test-" + UUID.randomUUID() + "@example.com";
+    }
+
+    public static String json(PatientRequestDTO request) {
+        return """
+                {"name":"%s","email":"%s","address":"%s","dateOfBirth":"%s","registeredDate":"%s"}"""
+                .formatted(request.name(), request.email(), request.address(), request.dateOfBirth(),
+                        request.registeredDate());
+    }
+}
@@ -0,0 +1,104 @@
+package com.dilip.patientservice.admission;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class AdaptiveConcurrencyLimitTests {
+
+    private static final long FAST = TimeUnit.MILLISECONDS.toNanos(1);
+    private static final long SLOW = TimeUnit.MILLISECONDS.toNanos(50);
+
+    @Test
+    void rejectsBeyondTheLimitUntilAPermitIsReleased() {
+        AdaptiveConcurrencyLimit limit = new AdaptiveConcurrencyLimit(2, 1, 10, 2.0, Long.MAX_VALUE);
+
+        assertThat(limit.tryAcquire()).isTrue();
+        assertThat(limit.tryAcquire()).isTrue();
+        assertThat(limit.tryAcquire()).isFalse();
+        assertThat(limit.getInflight()).isEqualTo(2);
+
+        limit.release(FAST);
+        assertThat(limit.tryAcquire()).isTrue();
+        limit.release();
+        limit.release();
+        assertThat(limit.getInflight()).isZero();
+    }
+
+    @Test
+    void growsWhileLatencyIsSteadyAndPermitsAreUsed() {
+        AdaptiveConcurrencyLimit limit = new AdaptiveConcurrencyLimit(10, 1, 100, 2.0, 0);
+
+        for (int window = 0; window < 20; window++) {
+            saturate(limit, FAST);
+        }
+
+        assertThat(limit.getLimit()).isGreaterThan(15);
+        assertThat(limit.isCongested()).isFalse();
+    }
+
+    @Test
+    void doesNotGrowWhenPermitsAreMostlyIdle() {
+        AdaptiveConcurrencyLimit limit = new AdaptiveConcurrencyLimit(50, 1, 100, 2.0, 0);
+
+        for (int i = 0; i < 200; i++) {
+            assertThat(limit.tryAcquire()).isTrue();
+            limit.release(FAST);
+        }
+
+        assertThat(limit.getLimit()).isEqualTo(50);
+    }
+
+    @Test
+    void shrinksAndReportsCongestionOnceLatencyRises() {
+        AdaptiveConcurrencyLimit limit = new AdaptiveConcurrencyLimit(50, 5, 100, 2.0, 0);
+        for (int window = 0; window < 5; window++) {
+            saturate(limit, FAST);
+        }
+        int steady = limit.getLimit();
+
+        saturate(limit, SLOW);
+
+        assertThat(limit.isCongested()).isTrue();
+        assertThat(limit.getLimit()).isLessThan(steady);
+    }
+
+    @Test
+    void staysWithinBounds() {
+        AdaptiveConcurrencyLimit growing = new AdaptiveConcurrencyLimit(10, 1, 12, 2.0, 0);
+        AdaptiveConcurrencyLimit shrinking = new AdaptiveConcurrencyLimit(20, 15, 40, 0.5, 0);
+
+        for (int window = 0; window < 50; window++) {
+            saturate(growing, FAST);
+            saturate(shrinking, SLOW);
+        }
+
+        assertThat(growing.getLimit()).isEqualTo(12);
+        assertThat(shrinking.getLimit()).isEqualTo(15);
+    }
+
+    @Test
+    void rejectsInconsistentBounds() {
+        assertThatThrownBy(() -> new AdaptiveConcurrencyLimit(5, 10, 20, 2.0, 0))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> new AdaptiveConcurrencyLimit(30, 10, 20, 2.0, 0))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    /**
+     * Takes every permit, then releases them all with the given latency. With a zero-length
+     * window, every ten releases close a window.
+     */
+    private static void saturate(AdaptiveConcurrencyLimit limit, long latencyNanos) {
+        int acquired = 0;
+        while (limit.tryAcquire()) {
+            acquired++;
+        }
+        for (int i = 0; i < acquired; i++) {
+            limit.release(latencyNanos);
+        }
+    }
+}
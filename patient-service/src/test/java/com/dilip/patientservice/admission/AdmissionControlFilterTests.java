@@ -0,0 +1,132 @@
+package com.dilip.patientservice.admission;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.FilterChain;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class AdmissionControlFilterTests {
+
+    private final ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json().build();
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @Test
+    void rejectsWithTooManyRequestsWhileAtTheLimit() throws Exception {
+        AdmissionControlFilter filter = filter(2.0, Duration.ofHours(1));
+
+        MockHttpServletResponse rejected = whileHoldingPermit(filter, request("GET", "/api/patients"),
+                request("GET", "/api/patients/search"));
+
+        assertThat(rejected.getStatus()).isEqualTo(429);
+        assertThat(rejected.getHeader(HttpHeaders.RETRY_AFTER)).isEqualTo("2");
+        JsonNode body = objectMapper.readTree(rejected.getContentAsByteArray());
+        assertThat(body.get("status").asInt()).isEqualTo(429);
+        assertThat(body.get("error").asText()).isEqualTo("Too Many Requests");
+        assertThat(body.has("timestamp")).isFalse();
+        assertThat(meterRegistry.get("patient.admission.rejected").tag("budget", "read").counter().count())
+                .isEqualTo(1);
+    }
+
+    @Test
+    void admitsAgainOnceThePermitIsReleased() throws Exception {
+        AdmissionControlFilter filter = filter(2.0, Duration.ofHours(1));
+        whileHoldingPermit(filter, request("GET", "/api/patients"), request("GET", "/api/patients"));
+
+        assertThat(pass(filter, request("GET", "/api/patients")).getStatus()).isEqualTo(200);
+        assertThat(meterRegistry.get("patient.admission.inflight").tag("budget", "read").gauge().value())
+                .isZero();
+    }
+
+    @Test
+    void rejectsWithServiceUnavailableWhileCongested() throws Exception {
+        // A tolerance below one reads every window as congested
+        AdmissionControlFilter filter = filter(0.5, Duration.ZERO);
+        for (int i = 0; i < 10; i++) {
+            pass(filter, request("GET", "/api/patients"));
+        }
+
+        MockHttpServletResponse rejected = whileHoldingPermit(filter, request("GET", "/api/patients"),
+                request("GET", "/api/patients"));
+
+        assertThat(rejected.getStatus()).isEqualTo(503);
+        assertThat(rejected.getHeader(HttpHeaders.RETRY_AFTER)).isEqualTo("2");
+        assertThat(objectMapper.readTree(rejected.getContentAsByteArray()).get("status").asInt()).isEqualTo(503);
+    }
+
+    @Test
+    void readsAndWritesHaveSeparateBudgets() throws Exception {
+        AdmissionControlFilter filter = filter(2.0, Duration.ofHours(1));
+
+        assertThat(whileHoldingPermit(filter, request("POST", "/api/patients"), request("GET", "/api/patients"))
+                .getStatus()).isEqualTo(200);
+        assertThat(whileHoldingPermit(filter, request("POST", "/api/patients"), request("POST", "/api/patients/batch-get"))
+                .getStatus()).isEqualTo(200);
+        assertThat(whileHoldingPermit(filter, request("POST", "/api/patients/batch-get"), request("GET", "/api/patients"))
+                .getStatus()).isEqualTo(429);
+    }
+
+    @Test
+    void leavesOtherPathsAlone() throws Exception {
+        AdmissionControlFilter filter = filter(2.0, Duration.ofHours(1));
+
+        assertThat(whileHoldingPermit(filter, request("GET", "/api/patients"), request("GET", "/actuator/health"))
+                .getStatus()).isEqualTo(200);
+    }
+
+    @Test
+    void asyncRequestHoldsItsPermitUntilComplete() throws Exception {
+        AdmissionControlFilter filter = filter(2.0, Duration.ofHours(1));
+        MockHttpServletRequest export = request("GET", "/api/patients/export");
+        export.setAsyncSupported(true);
+
+        filter.doFilter(export, new MockHttpServletResponse(), (req, res) -> req.startAsync());
+
+        assertThat(pass(filter, request("GET", "/api/patients")).getStatus()).isEqualTo(429);
+        export.getAsyncContext().complete();
+        assertThat(pass(filter, request("GET", "/api/patients")).getStatus()).isEqualTo(200);
+    }
+
+    /**
+     * One read and one write permit, a one second window unless given, and Retry-After of two seconds
+     */
+    private AdmissionControlFilter filter(double tolerance, Duration window) {
+        return new AdmissionControlFilter(objectMapper, meterRegistry, true,
+                1, 1, 1, 1, 1, 1, tolerance, window, Duration.ofSeconds(2));
+    }
+
+    /**
+     * Sends {@code second} through the filter while {@code first} is still inside it
+     */
+    private static MockHttpServletResponse whileHoldingPermit(AdmissionControlFilter filter,
+                                                              MockHttpServletRequest first,
+                                                              MockHttpServletRequest second) throws Exception {
+        AtomicReference<MockHttpServletResponse> inner = new AtomicReference<>();
+        filter.doFilter(first, new MockHttpServletResponse(), (req, res) -> inner.set(pass(filter, second)));
+        return inner.get();
+    }
+
+    private static MockHttpServletResponse pass(AdmissionControlFilter filter, MockHttpServletRequest request) {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        FilterChain ok = (req, res) -> ((MockHttpServletResponse) res).setStatus(200);
+        try {
+            filter.doFilter(request, response, ok);
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        }
+        return response;
+    }
+
+    private static MockHttpServletRequest request(String method, String uri) {
+        return new MockHttpServletRequest(method, uri);
+    }
+}
@@ -0,0 +1,102 @@
+package com.dilip.patientservice.cache;
+
+import com.dilip.patientservice.dto.PatientResponseDTO;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class PatientPageCacheTests {
+    private static final Pageable FIRST_PAGE = PageRequest.of(0, 10);
+
+    private final AtomicInteger loads = new AtomicInteger();
+
+    @Test
+    void repeatedReadsAreServedFromTheCache() {
+        PatientPageCache cache = cache(Duration.ofMinutes(1), 2048);
+
+        PatientPageCache.CachedPage first = cache.get(FIRST_PAGE, loader(1), page -> "\"a\"");
+        PatientPageCache.CachedPage second = cache.get(FIRST_PAGE, loader(1), page -> "\"a\"");
+
+        assertThat(second).isSameAs(first);
+        assertThat(loads).hasValue(1);
+    }
+
+    @Test
+    void committedWritesInvalidateEveryPage() {
+        PatientPageCache cache = cache(Duration.ofMinutes(1), 2048);
+        cache.get(FIRST_PAGE, loader(1), page -> "\"a\"");
+
+        cache.invalidate();
+        PatientPageCache.CachedPage reloaded = cache.get(FIRST_PAGE, loader(1), page -> "\"b\"");
+
+        assertThat(loads).hasValue(2);
+        assertThat(reloaded.eTag()).isEqualTo("\"b\"");
+    }
+
+    @Test
+    void entriesExpireAfterWrite() throws InterruptedException {
+        PatientPageCache cache = cache(Duration.ofMillis(50), 2048);
+        cache.get(FIRST_PAGE, loader(1), page -> "\"a\"");
+
+        Thread.sleep(150);
+        cache.get(FIRST_PAGE, loader(1), page -> "\"a\"");
+
+        assertThat(loads).hasValue(2);
+    }
+
+    @Test
+    void onlyLargePagesKeepACompressedCopy() {
+        PatientPageCache cache = cache(Duration.ofMinutes(1), 2048);
+
+        assertThat(cache.get(PageRequest.of(0, 1), loader(1), page -> "\"a\"").gzip()).isNull();
+        PatientPageCache.CachedPage large = cache.get(PageRequest.of(1, 50), loader(50), page -> "\"b\"");
+        assertThat(large.json().length).isGreaterThanOrEqualTo(2048);
+        assertThat(large.gzip()).isNotNull().hasSizeLessThan(large.json().length);
+    }
+
+    @Test
+    void onlyTheFirstPagesAreCacheable() {
+        PatientPageCache cache = cache(Duration.ofMinutes(1), 2048);
+
+        assertThat(cache.isCacheable(PageRequest.of(4, 10))).isTrue();
+        assertThat(cache.isCacheable(PageRequest.of(5, 10))).isFalse();
+        assertThat(cache.isCacheable(Pageable.unpaged())).isFalse();
+    }
+
+    private PatientPageCache cache(Duration expireAfterWrite, int gzipMinSize) {
+        return new PatientPageCache(new ObjectMapper(), new SimpleMeterRegistry(), true, 5, 256,
+                expireAfterWrite, gzipMinSize);
+    }
+
+    private Supplier<Page<PatientResponseDTO>> loader(int size) {
+        return () -> {
+            loads.incrementAndGet();
+            List<PatientResponseDTO> patients = new ArrayList<>();
+            for (int i = 0; i < size; i++) {
+                patients.add(PatientResponseDTO.builder()
+                        .id("00000000-0000-0000-0000-" + String.format("%012d", i))
+                        .name("Cached Patient " + i)
+                        .email("cached" + i + "@example.com")
+                        .address(i + " Cache Street, Springfield")
+                        .dateOfBirth("1980-01-01")
+                        .registeredDate("2024-01-01")
+                        .version(0L)
+                        .lastModified("2024-01-01T00:00:00Z")
+                        .build());
+            }
+            return new PageImpl<>(patients, PageRequest.of(0, Math.max(size, 1)), size);
+        };
+    }
+}
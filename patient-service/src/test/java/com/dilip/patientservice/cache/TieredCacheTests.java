@@ -0,0 +1,60 @@
+package com.dilip.patientservice.cache;
+
+import com.dilip.patientservice.exception.PatientNotFoundException;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.Cache;
+import org.springframework.cache.caffeine.CaffeineCache;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class TieredCacheTests {
+    private final CaffeineCache firstTier = new CaffeineCache("patients", Caffeine.newBuilder().build(), false);
+    private final CaffeineCache secondTier = new CaffeineCache("patients", Caffeine.newBuilder().build(), false);
+    private final TieredCache cache = new TieredCache(firstTier, secondTier);
+
+    @Test
+    void loaderFailureIsWrappedOnlyOnce() {
+        PatientNotFoundException notFound = new PatientNotFoundException("Patient not found with id: 1");
+
+        assertThatThrownBy(() -> cache.get("1", () -> {
+            throw notFound;
+        }))
+                .isInstanceOf(Cache.ValueRetrievalException.class)
+                .hasCause(notFound);
+        assertThat(cache.get("1")).isNull();
+    }
+
+    @Test
+    void loadedValueIsStoredInBothTiers() {
+        AtomicInteger loads = new AtomicInteger();
+
+        assertThat(cache.get("1", () -> "patient-" + loads.incrementAndGet())).isEqualTo("patient-1");
+        assertThat(cache.get("1", () -> "patient-" + loads.incrementAndGet())).isEqualTo("patient-1");
+
+        assertThat(loads).hasValue(1);
+        assertThat(firstTier.get("1", String.class)).isEqualTo("patient-1");
+        assertThat(secondTier.get("1", String.class)).isEqualTo("patient-1");
+    }
+
+    @Test
+    void secondTierHitIsPromotedToFirstTier() {
+        secondTier.put("1", "patient-1");
+
+        assertThat(cache.get("1", String.class)).isEqualTo("patient-1");
+        assertThat(firstTier.get("1", String.class)).isEqualTo("patient-1");
+    }
+
+    @Test
+    void evictRemovesFromBothTiers() {
+        cache.put("1", "patient-1");
+
+        cache.evict("1");
+
+        assertThat(firstTier.get("1")).isNull();
+        assertThat(secondTier.get("1")).isNull();
+    }
+}
@@ -0,0 +1,91 @@
+package com.dilip.patientservice.controller;
+
+import com.dilip.patientservice.PatientFixtures;
+import com.dilip.patientservice.config.CacheConfig;
+import com.dilip.patientservice.dto.PatientResponseDTO;
+import com.dilip.patientservice.service.PatientService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+class PatientBatchTests {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private PatientService patientService;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    @Test
+    void resolvesFoundAndMissingIdsInRequestOrder() throws Exception {
+        PatientResponseDTO first = patientService.createPatient(PatientFixtures.request("Batch First"));
+        PatientResponseDTO second = patientService.createPatient(PatientFixtures.request("Batch Second"));
+        String missing = UUID.randomUUID().toString();
+
+        mockMvc.perform(post("/api/patients/batch-get")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"ids\":[\"%s\",\"%s\",\"%s\",\"%s\"]}"
+                                .formatted(second.id(), missing, first.id(), second.id())))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.patients.length()").value(2))
+                .andExpect(jsonPath("$.patients[0].id").value(second.id()))
+                .andExpect(jsonPath("$.patients[1].id").value(first.id()))
+                .andExpect(jsonPath("$.missingIds[0]").value(missing));
+    }
+
+    @Test
+    void batchReadsDoNotFillTheCache() throws Exception {
+        PatientResponseDTO patient = patientService.createPatient(PatientFixtures.request("Batch Uncached"));
+        Cache cache = cacheManager.getCache(CacheConfig.PATIENTS_CACHE);
+        cache.evict(UUID.fromString(patient.id()));
+
+        mockMvc.perform(post("/api/patients/batch-get")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"ids\":[\"%s\"]}".formatted(patient.id())))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.patients[0].id").value(patient.id()));
+
+        assertThat(cache.get(UUID.fromString(patient.id()))).isNull();
+    }
+
+    @Test
+    void nullIdIsABadRequest() throws Exception {
+        mockMvc.perform(post("/api/patients/batch-get")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"ids\":[null]}"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void emptyIdInQueryIsABadRequest() throws Exception {
+        mockMvc.perform(get("/api/patients/batch").param("ids", UUID.randomUUID() + ",,"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void emptyIdListIsABadRequest() throws Exception {
+        mockMvc.perform(post("/api/patients/batch-get")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"ids\":[]}"))
+                .andExpect(status().isBadRequest());
+    }
+}
@@ -0,0 +1,60 @@
+package com.dilip.patientservice.controller;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.http.HttpHeaders;
+
+import java.io.ByteArrayInputStream;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.zip.GZIPInputStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Runs on a real Tomcat, since compression happens in the connector and MockMvc never sees it
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+class PatientCompressionTests {
+
+    @LocalServerPort
+    private int port;
+
+    private final HttpClient httpClient = HttpClient.newHttpClient();
+
+    @Test
+    void largeSlicesAreCompressedWithWeakTags() throws Exception {
+        HttpResponse<byte[]> response = httpClient.send(HttpRequest.newBuilder(
+                        URI.create("http://localhost:" + port + "/api/patients/scroll?size=100"))
+                .header(HttpHeaders.ACCEPT_ENCODING, "gzip")
+                .build(), HttpResponse.BodyHandlers.ofByteArray());
+
+        assertThat(response.statusCode()).isEqualTo(200);
+        assertThat(response.headers().firstValue(HttpHeaders.ETAG)).hasValueSatisfying(
+                eTag -> assertThat(eTag).startsWith("W/\""));
+        assertThat(response.headers().firstValue(HttpHeaders.CONTENT_ENCODING)).contains("gzip");
+        try (GZIPInputStream body = new GZIPInputStream(new ByteArrayInputStream(response.body()))) {
+            assertThat(new String(body.readAllBytes())).contains("\"content\":[");
+        }
+    }
+
+    @Test
+    void cachedPagesRevalidateWithTheirGzipTag() throws Exception {
+        URI firstPage = URI.create("http://localhost:" + port + "/api/patients?size=100");
+        HttpResponse<byte[]> response = httpClient.send(HttpRequest.newBuilder(firstPage)
+                .header(HttpHeaders.ACCEPT_ENCODING, "gzip")
+                .build(), HttpResponse.BodyHandlers.ofByteArray());
+        String eTag = response.headers().firstValue(HttpHeaders.ETAG).orElseThrow();
+
+        assertThat(response.headers().firstValue(HttpHeaders.CONTENT_ENCODING)).contains("gzip");
+        assertThat(eTag).startsWith("W/\"").endsWith("-gzip\"");
+        HttpResponse<byte[]> revalidated = httpClient.send(HttpRequest.newBuilder(firstPage)
+                .header(HttpHeaders.ACCEPT_ENCODING, "gzip")
+                .header(HttpHeaders.IF_NONE_MATCH, eTag)
+                .build(), HttpResponse.BodyHandlers.ofByteArray());
+        assertThat(revalidated.statusCode()).isEqualTo(304);
+    }
+}
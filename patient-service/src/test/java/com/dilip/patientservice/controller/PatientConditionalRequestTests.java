@@ -0,0 +1,146 @@
+package com.dilip.patientservice.controller;
+
+import com.dilip.patientservice.PatientFixtures;
+import com.dilip.patientservice.dto.PatientResponseDTO;
+import com.dilip.patientservice.service.PatientService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+class PatientConditionalRequestTests {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private PatientService patientService;
+
+    @Test
+    void patientCarriesVersionAndLastModifiedValidators() throws Exception {
+        PatientResponseDTO patient = create("Conditional Validators");
+
+        mockMvc.perform(get("/api/patients/{id}", patient.id()))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"" + patient.version() + "\""))
+                .andExpect(header().exists(HttpHeaders.LAST_MODIFIED));
+    }
+
+    @Test
+    void unchangedPatientIsNotModified() throws Exception {
+        PatientResponseDTO patient = create("Conditional Unchanged");
+        String eTag = "\"" + patient.version() + "\"";
+        String lastModified = mockMvc.perform(get("/api/patients/{id}", patient.id()))
+                .andReturn().getResponse().getHeader(HttpHeaders.LAST_MODIFIED);
+
+        mockMvc.perform(get("/api/patients/{id}", patient.id()).header(HttpHeaders.IF_NONE_MATCH, eTag))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string(HttpHeaders.ETAG, eTag))
+                .andExpect(content().bytes(new byte[0]));
+        mockMvc.perform(get("/api/patients/{id}", patient.id()).header(HttpHeaders.IF_MODIFIED_SINCE, lastModified))
+                .andExpect(status().isNotModified());
+    }
+
+    @Test
+    void changedPatientIsServedAgain() throws Exception {
+        PatientResponseDTO patient = create("Conditional Changed");
+        String staleTag = "\"" + patient.version() + "\"";
+        patientService.updatePatient(UUID.fromString(patient.id()), PatientFixtures.request("Conditional Changed Again"), null);
+
+        mockMvc.perform(get("/api/patients/{id}", patient.id()).header(HttpHeaders.IF_NONE_MATCH, staleTag))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"" + (patient.version() + 1) + "\""))
+                .andExpect(jsonPath("$.name").value("Conditional Changed Again"));
+    }
+
+    @Test
+    void conditionalGetOfMissingPatientIsNotFound() throws Exception {
+        mockMvc.perform(get("/api/patients/{id}", UUID.randomUUID()).header(HttpHeaders.IF_NONE_MATCH, "\"0\""))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    void updateWithCurrentIfMatchSucceedsAndStaleOneFails() throws Exception {
+        PatientResponseDTO patient = create("Conditional Update");
+        String current = "\"" + patient.version() + "\"";
+
+        String newTag = mockMvc.perform(put("/api/patients/{id}", patient.id())
+                        .header(HttpHeaders.IF_MATCH, current)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(PatientFixtures.json(PatientFixtures.request("Conditional Update Won"))))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        assertThat(newTag).isEqualTo("\"" + (patient.version() + 1) + "\"");
+
+        mockMvc.perform(put("/api/patients/{id}", patient.id())
+                        .header(HttpHeaders.IF_MATCH, current)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(PatientFixtures.json(PatientFixtures.request("Conditional Update Lost"))))
+                .andExpect(status().isPreconditionFailed());
+        assertThat(patientService.getPatientById(UUID.fromString(patient.id())).name()).isEqualTo("Conditional Update Won");
+    }
+
+    @Test
+    void wildcardIfMatchIsUnconditional() throws Exception {
+        PatientResponseDTO patient = create("Conditional Wildcard");
+
+        mockMvc.perform(put("/api/patients/{id}", patient.id())
+                        .header(HttpHeaders.IF_MATCH, "*")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(PatientFixtures.json(PatientFixtures.request("Conditional Wildcard"))))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    void malformedIfMatchIsABadRequest() throws Exception {
+        PatientResponseDTO patient = create("Conditional Malformed");
+
+        mockMvc.perform(delete("/api/patients/{id}", patient.id()).header(HttpHeaders.IF_MATCH, "\"abc\""))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void deleteWithStaleIfMatchIsRejected() throws Exception {
+        PatientResponseDTO patient = create("Conditional Delete");
+
+        mockMvc.perform(delete("/api/patients/{id}", patient.id())
+                        .header(HttpHeaders.IF_MATCH, "\"" + (patient.version() + 1) + "\""))
+                .andExpect(status().isPreconditionFailed());
+        mockMvc.perform(delete("/api/patients/{id}", patient.id())
+                        .header(HttpHeaders.IF_MATCH, "\"" + patient.version() + "\""))
+                .andExpect(status().isNoContent());
+    }
+
+    @Test
+    void unchangedListPageIsNotModified() throws Exception {
+        String eTag = mockMvc.perform(get("/api/patients/scroll").param("size", "5"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        assertThat(eTag).isNotBlank();
+
+        mockMvc.perform(get("/api/patients/scroll").param("size", "5").header(HttpHeaders.IF_NONE_MATCH, eTag))
+                .andExpect(status().isNotModified());
+        mockMvc.perform(get("/api/patients/scroll").param("size", "6").header(HttpHeaders.IF_NONE_MATCH, eTag))
+                .andExpect(status().isOk());
+    }
+
+    private PatientResponseDTO create(String name) {
+        return patientService.createPatient(PatientFixtures.request(name));
+    }
+}
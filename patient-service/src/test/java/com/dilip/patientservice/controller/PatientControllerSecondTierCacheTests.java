@@ -0,0 +1,28 @@
+package com.dilip.patientservice.controller;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.UUID;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = "patient.cache.second-tier.enabled=true")
+@AutoConfigureMockMvc
+class PatientControllerSecondTierCacheTests {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Test
+    void missingPatientIsNotFoundThroughBothTiers() throws Exception {
+        mockMvc.perform(get("/api/patients/{id}", UUID.randomUUID()))
+                .andExpect(status().isNotFound())
+                .andExpect(jsonPath("$.message").value("Patient not found"));
+    }
+}
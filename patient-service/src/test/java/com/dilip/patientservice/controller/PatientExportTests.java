@@ -0,0 +1,74 @@
+package com.dilip.patientservice.controller;
+
+import com.dilip.patientservice.repository.PatientRepository;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.util.Arrays;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+class PatientExportTests {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private PatientRepository patientRepository;
+
+    @Test
+    void exportStreamsOnePatientPerLine() throws Exception {
+        MvcResult started = mockMvc.perform(get("/api/patients/export").accept(MediaType.APPLICATION_NDJSON))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        String body = mockMvc.perform(asyncDispatch(started))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_NDJSON))
+                .andReturn().getResponse().getContentAsString();
+
+        assertThat(body).endsWith("\n");
+        List<String> lines = Arrays.stream(body.split("\n")).toList();
+        assertThat(lines).hasSize((int) patientRepository.count());
+        for (String line : lines) {
+            JsonNode patient = objectMapper.readTree(line);
+            assertThat(patient.path("id").asText()).isNotEmpty();
+            assertThat(patient.path("email").asText()).contains("@");
+        }
+    }
+
+    @Test
+    void allStreamsOneJsonArray() throws Exception {
+        MvcResult started = mockMvc.perform(get("/api/patients/all"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        String body = mockMvc.perform(asyncDispatch(started))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_JSON))
+                .andReturn().getResponse().getContentAsString();
+
+        JsonNode patients = objectMapper.readTree(body);
+        assertThat(patients.isArray()).isTrue();
+        assertThat(patients.size()).isEqualTo(patientRepository.count());
+        assertThat(patients.findValuesAsText("email")).contains("john.doe@example.com");
+    }
+}
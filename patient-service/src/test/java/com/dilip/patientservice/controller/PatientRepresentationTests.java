@@ -0,0 +1,114 @@
+package com.dilip.patientservice.controller;
+
+import com.dilip.patientservice.PatientFixtures;
+import com.dilip.patientservice.config.WireFormatConfig;
+import com.dilip.patientservice.dto.PatientResponseDTO;
+import com.dilip.patientservice.service.PatientService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.endsWith;
+import static org.hamcrest.Matchers.hasItem;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+class PatientRepresentationTests {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private PatientService patientService;
+
+    @Test
+    void eachRepresentationHasItsOwnTag() throws Exception {
+        PatientResponseDTO patient = patientService.createPatient(PatientFixtures.request("Representation Tags"));
+        String version = String.valueOf(patient.version());
+
+        mockMvc.perform(get("/api/patients/{id}", patient.id()))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_JSON))
+                .andExpect(header().string(HttpHeaders.ETAG, "\"" + version + "\""))
+                .andExpect(header().stringValues(HttpHeaders.VARY, hasItem(HttpHeaders.ACCEPT)));
+        mockMvc.perform(get("/api/patients/{id}", patient.id()).accept(MediaType.APPLICATION_CBOR))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_CBOR))
+                .andExpect(header().string(HttpHeaders.ETAG, "\"" + version + "-cbor\""));
+        mockMvc.perform(get("/api/patients/{id}", patient.id()).accept(WireFormatConfig.APPLICATION_SMILE))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(WireFormatConfig.APPLICATION_SMILE))
+                .andExpect(header().string(HttpHeaders.ETAG, "\"" + version + "-x-jackson-smile\""));
+    }
+
+    @Test
+    void revalidationComparesTagsOfTheSameRepresentation() throws Exception {
+        PatientResponseDTO patient = patientService.createPatient(PatientFixtures.request("Representation Revalidation"));
+        String jsonTag = "\"" + patient.version() + "\"";
+        String cborTag = "\"" + patient.version() + "-cbor\"";
+
+        mockMvc.perform(get("/api/patients/{id}", patient.id())
+                        .accept(MediaType.APPLICATION_CBOR).header(HttpHeaders.IF_NONE_MATCH, jsonTag))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_CBOR));
+        mockMvc.perform(get("/api/patients/{id}", patient.id())
+                        .accept(MediaType.APPLICATION_CBOR).header(HttpHeaders.IF_NONE_MATCH, cborTag))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string(HttpHeaders.ETAG, cborTag));
+    }
+
+    @Test
+    void qualityValuesDecideTheRepresentation() throws Exception {
+        PatientResponseDTO patient = patientService.createPatient(PatientFixtures.request("Representation Quality"));
+
+        mockMvc.perform(get("/api/patients/{id}", patient.id())
+                        .header(HttpHeaders.ACCEPT, "application/json;q=0.5, application/cbor"))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_CBOR))
+                .andExpect(header().string(HttpHeaders.ETAG, "\"" + patient.version() + "-cbor\""));
+    }
+
+    @Test
+    void binaryTagsAreAcceptedInIfMatch() throws Exception {
+        PatientResponseDTO patient = patientService.createPatient(PatientFixtures.request("Representation If-Match"));
+
+        mockMvc.perform(patch("/api/patients/{id}", patient.id())
+                        .accept(MediaType.APPLICATION_CBOR)
+                        .header(HttpHeaders.IF_MATCH, "\"" + patient.version() + "-cbor\"")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"address\":\"3 Binary Way\"}"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"" + (patient.version() + 1) + "-cbor\""));
+    }
+
+    @Test
+    void listPagesVaryByAccept() throws Exception {
+        String jsonTag = mockMvc.perform(get("/api/patients/scroll").param("size", "3"))
+                .andExpect(status().isOk())
+                .andExpect(header().stringValues(HttpHeaders.VARY, hasItem(HttpHeaders.ACCEPT)))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        String smileTag = mockMvc.perform(get("/api/patients/scroll").param("size", "3")
+                        .accept(WireFormatConfig.APPLICATION_SMILE))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        assertThat(smileTag).isNotEqualTo(jsonTag);
+        mockMvc.perform(get("/api/patients/scroll").param("size", "3")
+                        .accept(WireFormatConfig.APPLICATION_SMILE).header(HttpHeaders.IF_NONE_MATCH, jsonTag))
+                .andExpect(status().isOk());
+        mockMvc.perform(get("/api/patients").param("size", "3").accept(MediaType.APPLICATION_CBOR))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_CBOR))
+                .andExpect(header().string(HttpHeaders.ETAG, endsWith("-cbor\"")));
+    }
+}
@@ -0,0 +1,71 @@
+package com.dilip.patientservice.exception;
+
+import com.dilip.patientservice.dto.ErrorResponseDTO;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpStatus;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.matchesPattern;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+class GlobalExceptionHandlerTests {
+
+    /**
+     * ISO local date-time, as LocalDateTime has always been written: no offset or zone
+     */
+    private static final String LOCAL_DATE_TIME = "\\d{4}-\\d{2}-\\d{2}T\\d{2}:\\d{2}:\\d{2}(\\.\\d{1,9})?";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Test
+    void errorBodyKeepsLocalTimestampFormat() throws Exception {
+        mockMvc.perform(get("/api/patients/{id}", UUID.randomUUID()))
+                .andExpect(status().isNotFound())
+                .andExpect(jsonPath("$.timestamp").value(matchesPattern(LOCAL_DATE_TIME)))
+                .andExpect(jsonPath("$.status").value(404))
+                .andExpect(jsonPath("$.error").value("Not Found"))
+                .andExpect(jsonPath("$.message").value("Patient not found"))
+                .andExpect(jsonPath("$.details").doesNotExist());
+    }
+
+    @Test
+    void stampedBodyIsSharedWithinAMillisecond() {
+        StampedErrorResponse response = new StampedErrorResponse(ErrorResponseDTO.of(HttpStatus.NOT_FOUND, "Patient not found"));
+        Instant instant = Instant.parse("2024-01-15T10:30:00.123456Z");
+        Clock clock = Clock.fixed(instant, ZoneOffset.UTC);
+
+        ErrorResponseDTO first = response.body(clock);
+
+        assertThat(response.body(clock)).isSameAs(first);
+        assertThat(first.timestamp()).isEqualTo(LocalDateTime.of(2024, 1, 15, 10, 30, 0, 123_000_000));
+        assertThat(first.status()).isEqualTo(404);
+        assertThat(first.message()).isEqualTo("Patient not found");
+    }
+
+    @Test
+    void stampedBodyIsRenewedOnTheNextMillisecond() {
+        StampedErrorResponse response = new StampedErrorResponse(ErrorResponseDTO.of(HttpStatus.CONFLICT, "Email address already exists"));
+        Instant instant = Instant.parse("2024-01-15T10:30:00.123Z");
+
+        ErrorResponseDTO first = response.body(Clock.fixed(instant, ZoneOffset.UTC));
+        ErrorResponseDTO next = response.body(Clock.fixed(instant.plusMillis(1), ZoneOffset.UTC));
+
+        assertThat(next).isNotSameAs(first);
+        assertThat(next.timestamp()).isEqualTo(first.timestamp().plusNanos(1_000_000));
+    }
+}
@@ -0,0 +1,52 @@
+package com.dilip.patientservice.metrics;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+class QueryCountFilterTests {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Test
+    void recordsStatementsPerRequestByUriTemplate() throws Exception {
+        mockMvc.perform(get("/api/patients/{id}", UUID.randomUUID())).andExpect(status().isNotFound());
+
+        DistributionSummary summary = meterRegistry.find("patient.db.queries.per.request")
+                .tag("method", "GET")
+                .tag("uri", "/api/patients/{id}")
+                .summary();
+        assertThat(summary).isNotNull();
+        assertThat(summary.count()).isPositive();
+        assertThat(summary.max()).isGreaterThanOrEqualTo(1);
+    }
+
+    @Test
+    void inspectorCountsStatementsOnTheCurrentThread() {
+        QueryCountInspector inspector = new QueryCountInspector();
+        QueryCountInspector.reset();
+
+        assertThat(inspector.inspect("select 1")).isEqualTo("select 1");
+        inspector.inspect("select 2");
+
+        assertThat(QueryCountInspector.current()).isEqualTo(2);
+        QueryCountInspector.reset();
+        assertThat(QueryCountInspector.current()).isZero();
+    }
+}
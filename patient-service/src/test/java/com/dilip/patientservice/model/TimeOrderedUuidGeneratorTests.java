@@ -0,0 +1,30 @@
+package com.dilip.patientservice.model;
+
+import com.dilip.patientservice.PatientFixtures;
+import com.dilip.patientservice.dto.PatientResponseDTO;
+import com.dilip.patientservice.service.PatientService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+class TimeOrderedUuidGeneratorTests {
+
+    @Autowired
+    private PatientService patientService;
+
+    @Test
+    void createdPatientsGetIncreasingVersion7Ids() {
+        PatientResponseDTO first = patientService.createPatient(PatientFixtures.request("Uuid First"));
+        PatientResponseDTO second = patientService.createPatient(PatientFixtures.request("Uuid Second"));
+
+        UUID firstId = UUID.fromString(first.id());
+        UUID secondId = UUID.fromString(second.id());
+        assertThat(firstId.version()).isEqualTo(7);
+        assertThat(secondId).isGreaterThan(firstId);
+    }
+}
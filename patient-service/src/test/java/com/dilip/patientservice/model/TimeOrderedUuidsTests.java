@@ -0,0 +1,73 @@
+package com.dilip.patientservice.model;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TimeOrderedUuidsTests {
+
+    @Test
+    void idsAreVersion7WithTheRfcVariant() {
+        UUID id = TimeOrderedUuids.next();
+
+        assertThat(id.version()).isEqualTo(7);
+        assertThat(id.variant()).isEqualTo(2);
+    }
+
+    @Test
+    void idsCarryTheCurrentUnixMillis() {
+        long before = System.currentTimeMillis();
+        UUID id = TimeOrderedUuids.next();
+        long after = System.currentTimeMillis();
+
+        long millis = id.getMostSignificantBits() >>> 16;
+        // Bursts of more than 4096 ids per millisecond may run the stamp slightly ahead
+        assertThat(millis).isBetween(before, after + 1_000);
+    }
+
+    @Test
+    void idsIncreaseStrictlyInBinaryAndTextForm() {
+        UUID previous = TimeOrderedUuids.next();
+        for (int i = 0; i < 100_000; i++) {
+            UUID next = TimeOrderedUuids.next();
+            assertThat(next).isGreaterThan(previous);
+            assertThat(next.toString()).isGreaterThan(previous.toString());
+            previous = next;
+        }
+    }
+
+    @Test
+    void concurrentCallersNeverGetTheSameId() throws Exception {
+        int threads = 8;
+        int perThread = 20_000;
+        Set<UUID> ids = ConcurrentHashMap.newKeySet();
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int t = 0; t < threads; t++) {
+                futures.add(executor.submit(() -> {
+                    for (int i = 0; i < perThread; i++) {
+                        ids.add(TimeOrderedUuids.next());
+                    }
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get(30, TimeUnit.SECONDS);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertThat(ids).hasSize(threads * perThread);
+    }
+}
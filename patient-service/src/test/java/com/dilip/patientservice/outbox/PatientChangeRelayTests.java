@@ -0,0 +1,175 @@
+package com.dilip.patientservice.outbox;
+
+import com.dilip.patientservice.PatientFixtures;
+import com.dilip.patientservice.dto.PatientChangeDTO;
+import com.dilip.patientservice.dto.PatientResponseDTO;
+import com.dilip.patientservice.exception.PatientChangesExpiredException;
+import com.dilip.patientservice.model.PatientChangeEvent;
+import com.dilip.patientservice.model.PatientChangeType;
+import com.dilip.patientservice.repository.PatientChangeEventRepository;
+import com.dilip.patientservice.service.PatientChangeService;
+import com.dilip.patientservice.service.PatientService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Instant;
+import java.util.Comparator;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+class PatientChangeRelayTests {
+
+    @Autowired
+    private PatientChangeRelay relay;
+
+    @Autowired
+    private PatientChangeService patientChangeService;
+
+    @Autowired
+    private PatientService patientService;
+
+    @Autowired
+    private PatientChangeEventRepository changeEventRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Test
+    void patientChangesArePositionedInVersionOrderWhateverTheirIds() {
+        UUID patientId = UUID.randomUUID();
+        // Ids are handed out in save order, as if another instance's sequence block were lower
+        transactionTemplate.executeWithoutResult(status -> changeEventRepository.saveAll(List.of(
+                event(patientId, PatientChangeType.DELETED, null),
+                event(patientId, PatientChangeType.UPDATED, 3L),
+                event(patientId, PatientChangeType.UPDATED, 2L),
+                event(patientId, PatientChangeType.CREATED, 1L))));
+
+        relay.relay();
+
+        List<PatientChangeEvent> positioned = eventsOf(patientId);
+        assertThat(positioned).allSatisfy(event -> assertThat(event.getFeedPosition()).isNotNull());
+        assertThat(positioned).extracting(PatientChangeEvent::getPatientVersion).containsExactly(1L, 2L, 3L, null);
+        assertThat(positioned).allSatisfy(event -> assertThat(event.getPublishedAt()).isNotNull());
+    }
+
+    @Test
+    void feedFollowsThePatientWrites() {
+        long before = changeEventRepository.findMaxFeedPosition();
+        PatientResponseDTO created = patientService.createPatient(PatientFixtures.request("Feed Writes"));
+        UUID id = UUID.fromString(created.id());
+        patientService.updatePatient(id, PatientFixtures.request("Feed Writes Updated"), created.version());
+        patientService.deletePatient(id, null);
+
+        relay.relay();
+
+        List<PatientChangeDTO> changes = patientChangeService.getChanges(before, PatientChangeService.MAX_FEED_SIZE)
+                .changes().stream()
+                .filter(change -> change.patientId().equals(created.id()))
+                .toList();
+        assertThat(changes).extracting(PatientChangeDTO::type)
+                .containsExactly(PatientChangeType.CREATED, PatientChangeType.UPDATED, PatientChangeType.DELETED);
+        assertThat(changes.get(1).patient().name()).isEqualTo("Feed Writes Updated");
+        assertThat(changes).extracting(PatientChangeDTO::position).isSorted();
+    }
+
+    @Test
+    void conditionalDeleteFollowsTheUpdateItWasConditionalOn() {
+        long before = changeEventRepository.findMaxFeedPosition();
+        PatientResponseDTO created = patientService.createPatient(PatientFixtures.request("Feed Conditional Delete"));
+        UUID id = UUID.fromString(created.id());
+        PatientResponseDTO updated = patientService.updatePatient(id,
+                PatientFixtures.request("Feed Conditional Delete Updated"), created.version());
+        patientService.deletePatient(id, updated.version());
+
+        relay.relay();
+
+        List<PatientChangeDTO> changes = patientChangeService.getChanges(before, PatientChangeService.MAX_FEED_SIZE)
+                .changes().stream()
+                .filter(change -> change.patientId().equals(created.id()))
+                .toList();
+        assertThat(changes).extracting(PatientChangeDTO::type)
+                .containsExactly(PatientChangeType.CREATED, PatientChangeType.UPDATED, PatientChangeType.DELETED);
+        assertThat(changes).extracting(PatientChangeDTO::version)
+                .containsExactly(created.version(), updated.version(), updated.version() + 1);
+    }
+
+    @Test
+    void conditionalDeleteIsPositionedLastWhateverItsId() {
+        UUID patientId = UUID.randomUUID();
+        // The delete was conditional on version 2 and got a lower id than the update that produced it
+        transactionTemplate.executeWithoutResult(status -> changeEventRepository.saveAll(List.of(
+                event(patientId, PatientChangeType.DELETED, 3L),
+                event(patientId, PatientChangeType.UPDATED, 2L),
+                event(patientId, PatientChangeType.CREATED, 1L))));
+
+        relay.relay();
+
+        assertThat(eventsOf(patientId)).extracting(PatientChangeEvent::getChangeType)
+                .containsExactly(PatientChangeType.CREATED, PatientChangeType.UPDATED, PatientChangeType.DELETED);
+    }
+
+    @Test
+    void positionBehindThePurgeIsRejected() throws Exception {
+        UUID patientId = UUID.randomUUID();
+        transactionTemplate.executeWithoutResult(status -> changeEventRepository.saveAll(List.of(
+                event(patientId, PatientChangeType.CREATED, 1L),
+                event(patientId, PatientChangeType.UPDATED, 2L),
+                event(patientId, PatientChangeType.UPDATED, 3L))));
+        relay.relay();
+        List<PatientChangeEvent> positioned = eventsOf(patientId);
+        long first = positioned.get(0).getFeedPosition();
+
+        // What the retention purge does to events the consumer has not read yet
+        transactionTemplate.executeWithoutResult(status -> changeEventRepository.deleteById(positioned.get(1).getId()));
+
+        assertThat(patientChangeService.getChanges(first - 1, 10).changes()).isNotEmpty();
+        assertThatThrownBy(() -> patientChangeService.getChanges(first, 10))
+                .isInstanceOf(PatientChangesExpiredException.class);
+        mockMvc.perform(get("/api/patients/changes").param("since", String.valueOf(first)))
+                .andExpect(status().isGone());
+        assertThat(patientChangeService.getChanges(0, 10).changes()).isNotEmpty();
+    }
+
+    @Test
+    void purgeKeepsTheNewestPosition() {
+        transactionTemplate.executeWithoutResult(status -> changeEventRepository.saveAll(List.of(
+                event(UUID.randomUUID(), PatientChangeType.CREATED, 1L),
+                event(UUID.randomUUID(), PatientChangeType.CREATED, 1L))));
+        relay.relay();
+        long newest = changeEventRepository.findMaxFeedPosition();
+
+        transactionTemplate.executeWithoutResult(status -> changeEventRepository.deletePublishedBefore(
+                Instant.now().plusSeconds(60)));
+
+        assertThat(changeEventRepository.findMaxFeedPosition()).isEqualTo(newest);
+        transactionTemplate.executeWithoutResult(status -> changeEventRepository.save(
+                event(UUID.randomUUID(), PatientChangeType.CREATED, 1L)));
+        relay.relay();
+        assertThat(changeEventRepository.findMaxFeedPosition()).isEqualTo(newest + 1);
+    }
+
+    private List<PatientChangeEvent> eventsOf(UUID patientId) {
+        return changeEventRepository.findAll().stream()
+                .filter(event -> event.getPatientId().equals(patientId))
+                .sorted(Comparator.comparing(PatientChangeEvent::getFeedPosition))
+                .toList();
+    }
+
+    private static PatientChangeEvent event(UUID patientId, PatientChangeType type, Long version) {
+        return new PatientChangeEvent(patientId, type, version, null, Instant.now());
+    }
+}
@@ -0,0 +1,32 @@
+package com.dilip.patientservice.repository;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class PatientSearchCriteriaTests {
+
+    private static final LocalDate DATE = LocalDate.of(2000, 1, 1);
+
+    @Test
+    void namePrefixWinsOverDateRanges() {
+        assertThat(new PatientSearchCriteria("jo", null, DATE, null, DATE, null).sortKey())
+                .isEqualTo(PatientSearchSortKey.NAME);
+    }
+
+    @Test
+    void dateOfBirthRangeIsPreferredOverRegistrationRange() {
+        assertThat(new PatientSearchCriteria(null, null, null, DATE, DATE, null).sortKey())
+                .isEqualTo(PatientSearchSortKey.DATE_OF_BIRTH);
+        assertThat(new PatientSearchCriteria(null, null, null, null, null, DATE).sortKey())
+                .isEqualTo(PatientSearchSortKey.REGISTERED_DATE);
+    }
+
+    @Test
+    void unfilteredSearchIsOrderedByName() {
+        assertThat(new PatientSearchCriteria(null, "a@example.com", null, null, null, null).sortKey())
+                .isEqualTo(PatientSearchSortKey.NAME);
+    }
+}
@@ -0,0 +1,41 @@
+package com.dilip.patientservice.search;
+
+import com.dilip.patientservice.PatientFixtures;
+import com.dilip.patientservice.dto.PatientMatchDTO;
+import com.dilip.patientservice.dto.PatientResponseDTO;
+import com.dilip.patientservice.service.PatientService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+class PatientTextIndexTests {
+
+    @Autowired
+    private PatientTextIndex patientTextIndex;
+
+    @Autowired
+    private PatientService patientService;
+
+    @Test
+    void followsCommittedWrites() {
+        String name = "Quixotic Lookup " + UUID.randomUUID().toString().substring(0, 8);
+        PatientResponseDTO created = patientService.createPatient(PatientFixtures.request(name));
+        assertThat(patientTextIndex.search(name, 5)).extracting(PatientMatchDTO::id).contains(created.id());
+
+        patientService.deletePatient(UUID.fromString(created.id()), null);
+
+        assertThat(patientTextIndex.search(name, 5)).extracting(PatientMatchDTO::id).doesNotContain(created.id());
+    }
+
+    @Test
+    void rebuildLoadsStoredPatients() {
+        patientTextIndex.rebuild();
+
+        assertThat(patientTextIndex.search("Jonh Doe", 5)).extracting(PatientMatchDTO::name).contains("John Doe");
+    }
+}
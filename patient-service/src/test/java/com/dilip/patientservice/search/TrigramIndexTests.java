@@ -0,0 +1,112 @@
+package com.dilip.patientservice.search;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TrigramIndexTests {
+
+    private static final double MIN_SCORE = 0.3;
+
+    private final TrigramIndex index = new TrigramIndex();
+
+    @Test
+    void closerMatchesRankFirst() {
+        UUID john = add("John Doe", "123 Main St, Springfield");
+        UUID johnson = add("Johnathan Johnson", "9 Elm Road, Shelbyville");
+        add("Mary Smith", "42 Oak Avenue, Capital City");
+
+        List<TrigramIndex.Match> matches = index.search("john doe", 10, MIN_SCORE);
+
+        assertThat(matches).extracting(TrigramIndex.Match::id).startsWith(john);
+        assertThat(matches.get(0).score()).isGreaterThan(matches.stream()
+                .filter(match -> match.id().equals(johnson)).mapToDouble(TrigramIndex.Match::score)
+                .findFirst().orElse(0));
+    }
+
+    @Test
+    void toleratesTyposAndDiacritics() {
+        UUID zoe = add("Zoë Müller", "7 Harbour View, Portside");
+
+        assertThat(index.search("zoe muller", 10, MIN_SCORE)).extracting(TrigramIndex.Match::id).containsExactly(zoe);
+        assertThat(index.search("Zoe Mueller", 10, MIN_SCORE)).extracting(TrigramIndex.Match::id).containsExactly(zoe);
+        assertThat(index.search("harbor view", 10, MIN_SCORE)).extracting(TrigramIndex.Match::id).containsExactly(zoe);
+    }
+
+    @Test
+    void addressMatchesWeighLessThanNameMatches() {
+        UUID byName = add("Springfield Jones", "1 Other Street, Ogdenville");
+        UUID byAddress = add("Alice Brown", "1 Other Street, Springfield");
+
+        assertThat(index.search("springfield", 10, MIN_SCORE)).extracting(TrigramIndex.Match::id)
+                .containsExactly(byName, byAddress);
+    }
+
+    @Test
+    void removedPatientsAreNotFound() {
+        UUID removed = add("Removed Patient", "1 Gone Lane");
+        UUID kept = add("Removed Patients Twin", "1 Gone Lane");
+
+        index.remove(removed);
+        index.remove(removed);
+
+        assertThat(index.search("removed patient", 10, MIN_SCORE)).extracting(TrigramIndex.Match::id).containsExactly(kept);
+        assertThat(index.size()).isEqualTo(1);
+    }
+
+    @Test
+    void updatesReplaceTheOldText() {
+        UUID id = add("Old Name", "1 First Street");
+
+        index.add(TrigramIndex.prepare(id, "Brand New", "1 First Street"));
+
+        assertThat(index.search("old name", 10, MIN_SCORE)).isEmpty();
+        assertThat(index.search("brand new", 10, MIN_SCORE)).extracting(TrigramIndex.Match::id).containsExactly(id);
+    }
+
+    @Test
+    void repeatedUpdatesStayConsistentAcrossCompactions() {
+        UUID other = add("Steady Gardener", "5 Quiet Close");
+        UUID id = UUID.randomUUID();
+        for (int i = 0; i < 5_000; i++) {
+            index.add(TrigramIndex.prepare(id, "Churning Walker " + i, "8 Busy Road"));
+        }
+
+        assertThat(index.size()).isEqualTo(2);
+        assertThat(index.search("churning walker 4999", 10, MIN_SCORE)).extracting(TrigramIndex.Match::id)
+                .containsExactly(id);
+        assertThat(index.search("steady gardener", 10, MIN_SCORE)).extracting(TrigramIndex.Match::id)
+                .containsExactly(other);
+    }
+
+    @Test
+    void addIfAbsentKeepsNewerAndExcludedDocuments() {
+        UUID id = add("Newer Gardner", "1 Fresh Street");
+        UUID excluded = UUID.randomUUID();
+
+        assertThat(index.addIfAbsent(TrigramIndex.prepare(id, "Quentin Blake", "9 Old Lane"), ignored -> false)).isFalse();
+        assertThat(index.addIfAbsent(TrigramIndex.prepare(excluded, "Deleted Person", "9 Old Lane"), excluded::equals)).isFalse();
+
+        assertThat(index.search("newer gardner", 10, MIN_SCORE)).extracting(TrigramIndex.Match::id).containsExactly(id);
+        assertThat(index.search("quentin blake", 10, MIN_SCORE)).isEmpty();
+        assertThat(index.search("deleted person", 10, MIN_SCORE)).isEmpty();
+        assertThat(index.size()).isEqualTo(1);
+    }
+
+    @Test
+    void trigramsArePaddedPerWordAndDistinct() {
+        assertThat(TrigramIndex.trigrams("ab ab")).hasSize(3);
+        assertThat(TrigramIndex.trigrams("Zoë")).containsExactly(TrigramIndex.trigrams("zoe"));
+        assertThat(TrigramIndex.trigrams(" -- ")).isEmpty();
+        assertThat(TrigramIndex.trigrams(null)).isEmpty();
+    }
+
+    private UUID add(String name, String address) {
+        UUID id = UUID.randomUUID();
+        index.add(TrigramIndex.prepare(id, name, address));
+        return id;
+    }
+}
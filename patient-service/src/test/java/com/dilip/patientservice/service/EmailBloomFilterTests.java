@@ -0,0 +1,71 @@
+package com.dilip.patientservice.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class EmailBloomFilterTests {
+
+    private static final int INSERTIONS = 100_000;
+
+    @Test
+    void addedValuesAreAlwaysReported() {
+        EmailBloomFilter filter = new EmailBloomFilter(INSERTIONS, 0.01);
+        for (int i = 0; i < INSERTIONS; i++) {
+            filter.add("patient" + i + "@example.com");
+        }
+
+        assertThat(IntStream.range(0, INSERTIONS)
+                .filter(i -> !filter.mightContain("patient" + i + "@example.com"))
+                .count()).isZero();
+    }
+
+    @Test
+    void falsePositiveRateStaysNearConfiguredProbability() {
+        EmailBloomFilter filter = new EmailBloomFilter(INSERTIONS, 0.01);
+        for (int i = 0; i < INSERTIONS; i++) {
+            filter.add("patient" + i + "@example.com");
+        }
+
+        long falsePositives = IntStream.range(0, INSERTIONS)
+                .filter(i -> filter.mightContain("absent" + i + "@example.org"))
+                .count();
+
+        assertThat((double) falsePositives / INSERTIONS).isLessThan(0.02);
+    }
+
+    @Test
+    void concurrentAddsAreNotLost() throws Exception {
+        EmailBloomFilter filter = new EmailBloomFilter(INSERTIONS, 0.01);
+        int threads = 8;
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int t = 0; t < threads; t++) {
+                int thread = t;
+                futures.add(executor.submit(() -> {
+                    for (int i = thread; i < INSERTIONS; i += threads) {
+                        filter.add("patient" + i + "@example.com");
+                    }
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get(30, TimeUnit.SECONDS);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertThat(IntStream.range(0, INSERTIONS)
+                .filter(i -> !filter.mightContain("patient" + i + "@example.com"))
+                .count()).isZero();
+    }
+}
@@ -0,0 +1,47 @@
+package com.dilip.patientservice.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Base64;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class PatientCursorTests {
+
+    @Test
+    void encodedCursorRoundTrips() {
+        PatientCursor cursor = new PatientCursor("Zoë O'Brien", UUID.randomUUID());
+
+        assertThat(PatientCursor.decode(cursor.encode())).isEqualTo(cursor);
+    }
+
+    @Test
+    void keyMayContainTheSeparator() {
+        PatientCursor cursor = new PatientCursor("first line\nsecond line", UUID.randomUUID());
+
+        assertThat(PatientCursor.decode(cursor.encode())).isEqualTo(cursor);
+    }
+
+    @Test
+    void encodedCursorIsUrlSafe() {
+        String token = new PatientCursor("???>>>", UUID.randomUUID()).encode();
+
+        assertThat(token).matches("[A-Za-z0-9_-]+");
+    }
+
+    @Test
+    void malformedCursorIsRejected() {
+        assertThatThrownBy(() -> PatientCursor.decode("not base64!"))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> PatientCursor.decode(base64("no separator")))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> PatientCursor.decode(base64("not-a-uuid\nName")))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private static String base64(String raw) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes());
+    }
+}
@@ -0,0 +1,44 @@
+package com.dilip.patientservice.service;
+
+import com.dilip.patientservice.PatientFixtures;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+class PatientEmailIndexTests {
+
+    @Autowired
+    private PatientEmailIndex patientEmailIndex;
+
+    @Autowired
+    private PatientService patientService;
+
+    @Test
+    void seededEmailsMightExistRegardlessOfCase() {
+        assertThat(patientEmailIndex.mightExist("john.doe@example.com")).isTrue();
+        assertThat(patientEmailIndex.mightExist(" John.Doe@Example.com ")).isTrue();
+    }
+
+    @Test
+    void createdPatientsAreAddedToTheIndex() {
+        String email = PatientFixtures.uniqueEmail();
+
+        patientService.createPatient(PatientFixtures.request("Email Index", email));
+
+        assertThat(patientEmailIndex.mightExist(email)).isTrue();
+    }
+
+    @Test
+    void mostUnknownEmailsAreAnsweredWithoutTheDatabase() {
+        long negatives = IntStream.range(0, 1_000)
+                .filter(i -> !patientEmailIndex.mightExist(PatientFixtures.uniqueEmail()))
+                .count();
+
+        assertThat(negatives).isGreaterThan(950);
+    }
+}
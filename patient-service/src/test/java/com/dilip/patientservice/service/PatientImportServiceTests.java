@@ -0,0 +1,137 @@
+package com.dilip.patientservice.service;
+
+import com.dilip.patientservice.PatientFixtures;
+import com.dilip.patientservice.dto.BulkImportResultDTO;
+import com.dilip.patientservice.dto.BulkImportRowResultDTO;
+import com.dilip.patientservice.dto.BulkImportStatus;
+import com.dilip.patientservice.exception.EmailAlreadyExistsException;
+import com.dilip.patientservice.repository.PatientRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.hamcrest.Matchers.startsWith;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+class PatientImportServiceTests {
+    private static final int CHUNK_SIZE = 500;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private PatientImportService patientImportService;
+
+    @Autowired
+    private PatientService patientService;
+
+    @Autowired
+    private PatientRepository patientRepository;
+
+    @Test
+    void reportsOneResultPerRowInRequestOrder() {
+        String email = PatientFixtures.uniqueEmail();
+        String body = "[" + String.join(",",
+                PatientFixtures.json(PatientFixtures.request("Import One", email)),
+                PatientFixtures.json(PatientFixtures.request("Import Two", email)),
+                PatientFixtures.json(PatientFixtures.request("", PatientFixtures.uniqueEmail())),
+                PatientFixtures.json(PatientFixtures.request("Import Three", "john.doe@example.com")),
+                PatientFixtures.json(PatientFixtures.request("Import Four"))) + "]";
+        long before = patientRepository.count();
+
+        BulkImportResultDTO result = importJson(body, MediaType.APPLICATION_JSON);
+
+        assertThat(result.total()).isEqualTo(5);
+        assertThat(result.created()).isEqualTo(2);
+        assertThat(result.rejected()).isEqualTo(3);
+        assertThat(result.rows()).extracting(BulkImportRowResultDTO::index).containsExactly(0, 1, 2, 3, 4);
+        assertThat(result.rows()).extracting(BulkImportRowResultDTO::status).containsExactly(
+                BulkImportStatus.CREATED, BulkImportStatus.DUPLICATE, BulkImportStatus.INVALID,
+                BulkImportStatus.DUPLICATE, BulkImportStatus.CREATED);
+        assertThat(patientRepository.count()).isEqualTo(before + 2);
+
+        BulkImportRowResultDTO created = result.rows().get(0);
+        assertThat(patientService.getPatientById(UUID.fromString(created.id())).email()).isEqualTo(email);
+    }
+
+    @Test
+    void importedEmailsAreKnownToLaterCreates() {
+        String email = PatientFixtures.uniqueEmail();
+        String body = PatientFixtures.json(PatientFixtures.request("Import Ndjson", email)) + "\n";
+
+        BulkImportResultDTO result = importJson(body, MediaType.APPLICATION_NDJSON);
+
+        assertThat(result.created()).isEqualTo(1);
+        assertThatThrownBy(() -> patientService.createPatient(PatientFixtures.request("Import Again", email)))
+                .isInstanceOf(EmailAlreadyExistsException.class);
+    }
+
+    @Test
+    void nullRowIsInvalidAndReadingGoesOn() {
+        String body = "[" + PatientFixtures.json(PatientFixtures.request("Import Before Null")) + ",null,"
+                + PatientFixtures.json(PatientFixtures.request("Import After Null")) + "]";
+
+        BulkImportResultDTO result = importJson(body, MediaType.APPLICATION_JSON);
+
+        assertThat(result.error()).isNull();
+        assertThat(result.rows()).extracting(BulkImportRowResultDTO::status).containsExactly(
+                BulkImportStatus.CREATED, BulkImportStatus.INVALID, BulkImportStatus.CREATED);
+    }
+
+    @Test
+    void malformedPayloadIsReported() {
+        BulkImportResultDTO result = importJson("[{\"name\":", MediaType.APPLICATION_JSON);
+
+        assertThat(result.total()).isZero();
+        assertThat(result.rows()).isEmpty();
+        assertThat(result.error()).startsWith("Malformed import payload at row 0");
+    }
+
+    @Test
+    void malformedPayloadAfterACommittedChunkReportsTheRowsAlreadyProcessed() throws Exception {
+        List<String> rows = new ArrayList<>();
+        for (int i = 0; i < CHUNK_SIZE + 1; i++) {
+            rows.add(PatientFixtures.json(PatientFixtures.request("Import Partial " + i)));
+        }
+        rows.add("null");
+        long before = patientRepository.count();
+
+        BulkImportResultDTO result = importJson("[" + String.join(",", rows) + ",{\"name\":", MediaType.APPLICATION_JSON);
+
+        assertThat(result.error()).startsWith("Malformed import payload at row " + (CHUNK_SIZE + 2));
+        assertThat(result.total()).isEqualTo(CHUNK_SIZE + 2);
+        assertThat(result.created()).isEqualTo(CHUNK_SIZE + 1);
+        BulkImportRowResultDTO nullRow = result.rows().get(CHUNK_SIZE + 1);
+        assertThat(nullRow.status()).isEqualTo(BulkImportStatus.INVALID);
+        assertThat(nullRow.error()).contains("Null value");
+        assertThat(patientRepository.count()).isEqualTo(before + CHUNK_SIZE + 1);
+
+        mockMvc.perform(post("/api/patients/bulk")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("[" + PatientFixtures.json(PatientFixtures.request("Import Partial Http")) + ",{"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.created").value(1))
+                .andExpect(jsonPath("$.rows[0].status").value("CREATED"))
+                .andExpect(jsonPath("$.error").value(startsWith("Malformed import payload at row 1")));
+    }
+
+    private BulkImportResultDTO importJson(String body, MediaType contentType) {
+        return patientImportService.importPatients(
+                new ByteArrayInputStream(body.getBytes(StandardCharsets.UTF_8)), contentType);
+    }
+}
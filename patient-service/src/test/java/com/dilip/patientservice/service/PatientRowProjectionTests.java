@@ -0,0 +1,38 @@
+package com.dilip.patientservice.service;
+
+import com.dilip.patientservice.dto.PatientResponseDTO;
+import com.dilip.patientservice.mapper.PatientMapper;
+import com.dilip.patientservice.repository.PatientRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+class PatientRowProjectionTests {
+
+    @Autowired
+    private PatientService patientService;
+
+    @Autowired
+    private PatientRepository patientRepository;
+
+    @Test
+    @Transactional(readOnly = true)
+    void projectedPageMatchesTheEntityMapping() {
+        PageRequest pageable = PageRequest.of(1, 4, Sort.by("name").and(Sort.by("id")));
+
+        Page<PatientResponseDTO> projected = patientService.getPatients(pageable);
+        List<PatientResponseDTO> fromEntities = patientRepository.findAll(pageable).map(PatientMapper::toDTO).getContent();
+
+        assertThat(projected.getContent()).isNotEmpty().containsExactlyElementsOf(fromEntities);
+        assertThat(projected.getTotalElements()).isEqualTo(patientRepository.count());
+    }
+}
@@ -0,0 +1,87 @@
+package com.dilip.patientservice.service;
+
+import com.dilip.patientservice.PatientFixtures;
+import com.dilip.patientservice.dto.PatientRequestDTO;
+import com.dilip.patientservice.dto.PatientResponseDTO;
+import com.dilip.patientservice.dto.PatientSliceDTO;
+import com.dilip.patientservice.repository.PatientSearchCriteria;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+class PatientSearchTests {
+
+    @Autowired
+    private PatientService patientService;
+
+    @Test
+    void namePrefixIsCaseInsensitiveAndPagesInNameOrder() {
+        String prefix = "Search" + UUID.randomUUID().toString().substring(0, 8);
+        for (String suffix : List.of("delta", "Alpha", "charlie", "Echo", "bravo")) {
+            patientService.createPatient(PatientFixtures.request(prefix + " " + suffix));
+        }
+
+        List<PatientResponseDTO> found = searchAll(
+                new PatientSearchCriteria(prefix.toUpperCase(Locale.ROOT), null, null, null, null, null));
+
+        assertThat(found).extracting(PatientResponseDTO::name).containsExactly(
+                prefix + " Alpha", prefix + " bravo", prefix + " charlie", prefix + " delta", prefix + " Echo");
+    }
+
+    @Test
+    void dateRangesAreInclusiveAndOrderedByDate() {
+        String prefix = "Search" + UUID.randomUUID().toString().substring(0, 8);
+        PatientResponseDTO early = create(prefix + " Early", "1901-03-01");
+        PatientResponseDTO late = create(prefix + " Late", "1901-03-31");
+        create(prefix + " Outside", "1901-04-01");
+
+        List<PatientResponseDTO> byDate = searchAll(new PatientSearchCriteria(null, null,
+                LocalDate.of(1901, 3, 1), LocalDate.of(1901, 3, 31), null, null));
+        assertThat(byDate).extracting(PatientResponseDTO::id).containsExactly(early.id(), late.id());
+
+        List<PatientResponseDTO> byNameAndDate = searchAll(new PatientSearchCriteria(prefix, null,
+                LocalDate.of(1901, 3, 15), null, null, null));
+        assertThat(byNameAndDate).extracting(PatientResponseDTO::name)
+                .containsExactly(prefix + " Late", prefix + " Outside");
+    }
+
+    @Test
+    void emailMatchesExactly() {
+        PatientResponseDTO created = patientService.createPatient(PatientFixtures.request("Search Email"));
+
+        assertThat(searchAll(new PatientSearchCriteria(null, created.email(), null, null, null, null)))
+                .extracting(PatientResponseDTO::id).containsExactly(created.id());
+        assertThat(searchAll(new PatientSearchCriteria(null, "x" + created.email(), null, null, null, null)))
+                .isEmpty();
+    }
+
+    private PatientResponseDTO create(String name, String dateOfBirth) {
+        return patientService.createPatient(PatientRequestDTO.builder()
+                .name(name)
+                .email(PatientFixtures.uniqueEmail())
+                .address("1 Test Street, Springfield")
+                .dateOfBirth(dateOfBirth)
+                .registeredDate("2024-01-15")
+                .build());
+    }
+
+    private List<PatientResponseDTO> searchAll(PatientSearchCriteria criteria) {
+        List<PatientResponseDTO> found = new ArrayList<>();
+        String cursor = null;
+        do {
+            PatientSliceDTO slice = patientService.searchPatients(criteria, cursor, 2);
+            found.addAll(slice.content());
+            cursor = slice.nextCursor();
+        } while (cursor != null);
+        return found;
+    }
+}
@@ -0,0 +1,101 @@
+package com.dilip.patientservice.service;
+
+import com.dilip.patientservice.PatientFixtures;
+import com.dilip.patientservice.dto.PatientPatchDTO;
+import com.dilip.patientservice.dto.PatientResponseDTO;
+import com.dilip.patientservice.exception.EmailAlreadyExistsException;
+import com.dilip.patientservice.exception.PatientNotFoundException;
+import com.dilip.patientservice.exception.PatientVersionMismatchException;
+import com.dilip.patientservice.repository.PatientRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@SpringBootTest
+class PatientServiceWriteTests {
+
+    @Autowired
+    private PatientService patientService;
+
+    @Autowired
+    private PatientRepository patientRepository;
+
+    @Test
+    void updateBumpsTheVersion() {
+        PatientResponseDTO created = patientService.createPatient(PatientFixtures.request("Write Update"));
+        UUID id = UUID.fromString(created.id());
+
+        PatientResponseDTO updated = patientService.updatePatient(id, PatientFixtures.request("Write Updated"),
+                created.version());
+
+        assertThat(updated.version()).isEqualTo(created.version() + 1);
+        assertThat(patientService.getPatientById(id).name()).isEqualTo("Write Updated");
+        assertThat(patientRepository.findVersionById(id)).contains(updated.version());
+    }
+
+    @Test
+    void updateWithStaleVersionIsRejected() {
+        PatientResponseDTO created = patientService.createPatient(PatientFixtures.request("Write Stale"));
+        UUID id = UUID.fromString(created.id());
+        patientService.updatePatient(id, PatientFixtures.request("Write Stale"), null);
+
+        assertThatThrownBy(() -> patientService.updatePatient(id, PatientFixtures.request("Write Lost"), created.version()))
+                .isInstanceOf(PatientVersionMismatchException.class);
+        assertThat(patientService.getPatientById(id).name()).isEqualTo("Write Stale");
+    }
+
+    @Test
+    void updateOfMissingPatientIsNotFound() {
+        UUID id = UUID.randomUUID();
+
+        assertThatThrownBy(() -> patientService.updatePatient(id, PatientFixtures.request("Write Missing"), null))
+                .isInstanceOf(PatientNotFoundException.class);
+        assertThatThrownBy(() -> patientService.updatePatient(id, PatientFixtures.request("Write Missing"), 0L))
+                .isInstanceOf(PatientNotFoundException.class);
+    }
+
+    @Test
+    void updateToAnExistingEmailIsRejected() {
+        PatientResponseDTO created = patientService.createPatient(PatientFixtures.request("Write Email"));
+
+        assertThatThrownBy(() -> patientService.updatePatient(UUID.fromString(created.id()),
+                PatientFixtures.request("Write Email", "john.doe@example.com"), null))
+                .isInstanceOf(EmailAlreadyExistsException.class);
+    }
+
+    @Test
+    void patchKeepsFieldsThatAreNotSent() {
+        PatientResponseDTO created = patientService.createPatient(PatientFixtures.request("Write Patch"));
+        UUID id = UUID.fromString(created.id());
+
+        PatientResponseDTO patched = patientService.patchPatient(id,
+                PatientPatchDTO.builder().address("2 Patched Road").build(), created.version());
+
+        assertThat(patched.address()).isEqualTo("2 Patched Road");
+        assertThat(patched.name()).isEqualTo(created.name());
+        assertThat(patched.email()).isEqualTo(created.email());
+        assertThat(patched.version()).isEqualTo(created.version() + 1);
+        assertThatThrownBy(() -> patientService.patchPatient(id,
+                PatientPatchDTO.builder().name("Write Lost").build(), created.version()))
+                .isInstanceOf(PatientVersionMismatchException.class);
+    }
+
+    @Test
+    void deleteChecksTheVersionAndExistence() {
+        PatientResponseDTO created = patientService.createPatient(PatientFixtures.request("Write Delete"));
+        UUID id = UUID.fromString(created.id());
+
+        assertThatThrownBy(() -> patientService.deletePatient(id, created.version() + 1))
+                .isInstanceOf(PatientVersionMismatchException.class);
+        patientService.deletePatient(id, created.version());
+
+        assertThat(patientRepository.existsById(id)).isFalse();
+        assertThatThrownBy(() -> patientService.getPatientById(id)).isInstanceOf(PatientNotFoundException.class);
+        assertThatThrownBy(() -> patientService.deletePatient(id, null)).isInstanceOf(PatientNotFoundException.class);
+    }
+}
@@ -0,0 +1,58 @@
+package com.dilip.patientservice.service;
+
+import com.dilip.patientservice.PatientFixtures;
+import com.dilip.patientservice.dto.PatientResponseDTO;
+import com.dilip.patientservice.dto.PatientSliceDTO;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+class PatientSliceTests {
+
+    @Autowired
+    private PatientService patientService;
+
+    @Test
+    void scrollingVisitsEveryPatientOnceInNameAndIdOrder() {
+        Set<String> tied = new HashSet<>();
+        for (int i = 0; i < 5; i++) {
+            tied.add(patientService.createPatient(PatientFixtures.request("Keyset Tie")).id());
+        }
+
+        List<String> scrolled = new ArrayList<>();
+        String cursor = null;
+        do {
+            PatientSliceDTO slice = patientService.getPatientSlice(cursor, 2);
+            assertThat(slice.content()).hasSizeLessThanOrEqualTo(2);
+            assertThat(slice.hasNext()).isEqualTo(slice.nextCursor() != null);
+            slice.content().forEach(patient -> scrolled.add(patient.id()));
+            cursor = slice.nextCursor();
+        } while (cursor != null);
+
+        // Offset paging with the same (name, id) order is the reference, including the tie-breaker
+        List<String> expected = patientService.getPatients(
+                        PageRequest.of(0, 10_000, Sort.by("name").and(Sort.by("id"))))
+                .map(PatientResponseDTO::id)
+                .getContent();
+        assertThat(scrolled).containsExactlyElementsOf(expected);
+        assertThat(scrolled).containsAll(tied);
+        assertThat(scrolled.stream().collect(Collectors.toSet())).hasSameSizeAs(scrolled);
+    }
+
+    @Test
+    void pageSizeIsClamped() {
+        assertThat(patientService.getPatientSlice(null, 0).size()).isEqualTo(1);
+        assertThat(patientService.getPatientSlice(null, 10_000).size()).isEqualTo(PatientService.MAX_SLICE_SIZE);
+    }
+}